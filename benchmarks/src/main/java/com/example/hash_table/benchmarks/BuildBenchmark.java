@@ -0,0 +1,54 @@
+package com.example.hash_table.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Вставка новых ключей: построение таблицы из size ключей с нуля, включая все перестройки,
+// при заданном коэффициенте заполнения
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuildBenchmark {
+    @Param({"CHAINING", "OPEN_ADDRESSING", "SWISS_TABLE", "HASH_MAP"})
+    public TableKind kind;
+
+    @Param({"INTEGER", "SHORT_STRING", "LONG_STRING"})
+    public KeyType keyType;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"0.5", "0.75", "0.875"})
+    public double loadFactor;
+
+    private Object[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = keyType.distinctKeys(size, 42);
+    }
+
+    @Benchmark
+    public TableKind.Table putNew() {
+        TableKind.Table table = kind.create(loadFactor);
+        for (Object key : keys) {
+            table.put(key, key);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.hash_table.benchmarks;
+
+import com.example.hash_table.HashTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Построение таблицы и поиск пакетом: put по одному с перестройками, put в заранее рассчитанную таблицу,
+// putAll и getAll против get по одному
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkBenchmark {
+    @Param({"CHAINING", "OPEN_ADDRESSING", "SWISS_TABLE"})
+    public HashTable.CollisionResolution resolution;
+
+    @Param({"INTEGER", "SHORT_STRING"})
+    public KeyType keyType;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"0.5", "0.75", "0.875"})
+    public double loadFactor;
+
+    private Object[] keys;
+    private Object[] out;
+    private HashTable<Object, Object> filled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = keyType.distinctKeys(size, 42);
+        out = new Object[size];
+        filled = putAll();
+    }
+
+    private HashTable<Object, Object> create(int expectedSize) {
+        HashTable<Object, Object> table = new HashTable<>(expectedSize, loadFactor);
+        table.setCollisionResolution(resolution);
+        return table;
+    }
+
+    @Benchmark
+    public HashTable<Object, Object> putGrowing() {
+        HashTable<Object, Object> table = create(0);
+        for (Object key : keys) {
+            table.put(key, key);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public HashTable<Object, Object> putPresized() {
+        HashTable<Object, Object> table = create(keys.length);
+        for (Object key : keys) {
+            table.put(key, key);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public HashTable<Object, Object> putAll() {
+        HashTable<Object, Object> table = create(0);
+        table.putAll(keys, keys);
+        return table;
+    }
+
+    @Benchmark
+    public Object[] getEach() {
+        for (int i = 0; i < keys.length; i++) {
+            out[i] = filled.get(keys[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public int getAll() {
+        return filled.getAll(keys, out);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hash_table.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Основные операции над заполненной таблицей. Ключи для обращений заранее перемешаны,
+// так что последовательные вызовы попадают в разные корзины.
+// Запуск: java -jar target/benchmarks.jar HashTableBenchmark -p size=1000 -p loadFactor=0.75
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+    // Сколько ключей-промахов генерируется (для больших таблиц не нужен полный набор)
+    private static final int MAX_MISS_KEYS = 1 << 20;
+
+    @Param({"CHAINING", "OPEN_ADDRESSING", "SWISS_TABLE", "HASH_MAP"})
+    public TableKind kind;
+
+    @Param({"INTEGER", "SHORT_STRING", "LONG_STRING"})
+    public KeyType keyType;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"0.5", "0.75", "0.875"})
+    public double loadFactor;
+
+    private TableKind.Table table;
+    private Object[] keys;
+    private Object[] missKeys;
+    private Object value;
+    private int keyIndex;
+    private int missIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int missCount = Math.min(size, MAX_MISS_KEYS);
+        Object[] all = keyType.distinctKeys(size + missCount, 42);
+        keys = new Object[size];
+        missKeys = new Object[missCount];
+        System.arraycopy(all, 0, keys, 0, size);
+        System.arraycopy(all, size, missKeys, 0, missCount);
+
+        value = "value";
+        table = kind.create(loadFactor);
+        for (Object key : keys) {
+            table.put(key, value);
+        }
+    }
+
+    private Object nextKey() {
+        int index = keyIndex;
+        keyIndex = index + 1 == keys.length ? 0 : index + 1;
+        return keys[index];
+    }
+
+    private Object nextMissKey() {
+        int index = missIndex;
+        missIndex = index + 1 == missKeys.length ? 0 : index + 1;
+        return missKeys[index];
+    }
+
+    @Benchmark
+    public Object getHit() {
+        return table.get(nextKey());
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return table.get(nextMissKey());
+    }
+
+    @Benchmark
+    public void putOverwrite() {
+        table.put(nextKey(), value);
+    }
+
+    // Размер таблицы не меняется: отсутствующий ключ добавляется и сразу удаляется
+    @Benchmark
+    public void putNewThenRemove() {
+        Object key = nextMissKey();
+        table.put(key, value);
+        table.remove(key);
+    }
+
+    // Удаление существующего ключа с возвратом на место
+    @Benchmark
+    public void removeThenPut() {
+        Object key = nextKey();
+        table.remove(key);
+        table.put(key, value);
+    }
+
+    // Полный обход всех значений таблицы
+    @Benchmark
+    public int iterate() {
+        return table.iterate();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.hash_table.benchmarks;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// Типы ключей для бенчмарков
+public enum KeyType {
+    INTEGER {
+        @Override
+        Object key(Random random) {
+            return random.nextInt();
+        }
+    },
+    SHORT_STRING {
+        @Override
+        Object key(Random random) {
+            return "k" + Integer.toString(random.nextInt() & Integer.MAX_VALUE, 36);
+        }
+    },
+    LONG_STRING {
+        @Override
+        Object key(Random random) {
+            StringBuilder sb = new StringBuilder(64);
+            while (sb.length() < 64) {
+                sb.append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+            }
+            sb.setLength(64);
+            return sb.toString();
+        }
+    };
+
+    abstract Object key(Random random);
+
+    // count попарно различных ключей
+    public Object[] distinctKeys(int count, long seed) {
+        Random random = new Random(seed);
+        Set<Object> seen = new HashSet<>(count * 2);
+        Object[] keys = new Object[count];
+        for (int i = 0; i < count; ) {
+            Object key = key(random);
+            if (seen.add(key)) {
+                keys[i++] = key;
+            }
+        }
+        return keys;
+    }
+}
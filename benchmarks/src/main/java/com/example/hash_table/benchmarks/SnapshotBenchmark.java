@@ -0,0 +1,71 @@
+package com.example.hash_table.benchmarks;
+
+import com.example.hash_table.Codec;
+import com.example.hash_table.HashTable;
+import com.example.hash_table.HashTableSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Тёплый старт: построение таблицы заново через put против загрузки сохранённого снимка
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"CHAINING", "OPEN_ADDRESSING", "SWISS_TABLE"})
+    public HashTable.CollisionResolution resolution;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private String[] keys;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Object[] generated = KeyType.SHORT_STRING.distinctKeys(size, 42);
+        keys = new String[size];
+        System.arraycopy(generated, 0, keys, 0, size);
+
+        file = Files.createTempFile("hash_table", ".snapshot");
+        HashTableSnapshot.save(coldRebuild(), file, Codec.utf8(), Codec.integers());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> coldRebuild() {
+        HashTable<String, Integer> table = new HashTable<>();
+        table.setCollisionResolution(resolution);
+        for (int i = 0; i < keys.length; i++) {
+            table.put(keys[i], i);
+        }
+        return table;
+    }
+
+    @Benchmark
+    public HashTable<String, Integer> mappedLoad() throws IOException {
+        return HashTableSnapshot.load(file, Codec.utf8(), Codec.integers());
+    }
+}
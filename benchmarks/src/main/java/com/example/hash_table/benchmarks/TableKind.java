@@ -0,0 +1,132 @@
+package com.example.hash_table.benchmarks;
+
+import com.example.hash_table.HashTable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+// Реализации, которые сравниваются в бенчмарках; HASH_MAP - базовая линия java.util.HashMap
+public enum TableKind {
+    CHAINING,
+    OPEN_ADDRESSING,
+    // SwissTable работает при более высоком коэффициенте заполнения, чем обычная открытая адресация
+    SWISS_TABLE,
+    HASH_MAP;
+
+    static final double SWISS_TABLE_LOAD_FACTOR = 0.875;
+
+    public Table create() {
+        if (this == HASH_MAP) {
+            return new MapTable(new HashMap<>());
+        }
+        HashTable<Object, Object> hashTable = this == SWISS_TABLE
+                ? new HashTable<>(0, SWISS_TABLE_LOAD_FACTOR)
+                : new HashTable<>();
+        hashTable.setCollisionResolution(HashTable.CollisionResolution.valueOf(name()));
+        return new HashTableTable(hashTable);
+    }
+
+    public Table create(double loadFactor) {
+        if (this == HASH_MAP) {
+            return new MapTable(new HashMap<>(16, (float) loadFactor));
+        }
+        HashTable<Object, Object> hashTable = new HashTable<>(0, loadFactor);
+        hashTable.setCollisionResolution(HashTable.CollisionResolution.valueOf(name()));
+        return new HashTableTable(hashTable);
+    }
+
+    // Общий интерфейс, чтобы одни и те же бенчмарки работали и с HashTable, и с HashMap
+    public interface Table {
+        Object get(Object key);
+
+        void put(Object key, Object value);
+
+        void remove(Object key);
+
+        // Одна операция чтения-изменения-записи, как Map.merge
+        Object merge(Object key, Object value, BiFunction<Object, Object, Object> remappingFunction);
+
+        int size();
+
+        // Обход всех значений; возвращает число непустых значений
+        int iterate();
+    }
+
+    private record HashTableTable(HashTable<Object, Object> table) implements Table {
+        @Override
+        public Object get(Object key) {
+            return table.get(key);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            table.put(key, value);
+        }
+
+        @Override
+        public void remove(Object key) {
+            table.remove(key);
+        }
+
+        @Override
+        public Object merge(Object key, Object value, BiFunction<Object, Object, Object> remappingFunction) {
+            return table.merge(key, value, remappingFunction);
+        }
+
+        @Override
+        public int size() {
+            return table.size();
+        }
+
+        @Override
+        public int iterate() {
+            int count = 0;
+            for (Iterator<Object> iterator = table.begin(); iterator.hasNext(); ) {
+                if (iterator.next() != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private record MapTable(Map<Object, Object> map) implements Table {
+        @Override
+        public Object get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            map.put(key, value);
+        }
+
+        @Override
+        public void remove(Object key) {
+            map.remove(key);
+        }
+
+        @Override
+        public Object merge(Object key, Object value, BiFunction<Object, Object, Object> remappingFunction) {
+            return map.merge(key, value, remappingFunction);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public int iterate() {
+            int count = 0;
+            for (Object value : map.values()) {
+                if (value != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
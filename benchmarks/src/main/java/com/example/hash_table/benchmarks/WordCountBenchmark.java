@@ -0,0 +1,74 @@
+package com.example.hash_table.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+// Подсчёт слов: WORDS слов из словаря vocabulary с ципфовским распределением частот.
+// getThenPut - чтение счётчика и запись нового значения (два поиска ключа), merge - одна операция
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordCountBenchmark {
+    private static final int WORDS = 1 << 20;
+    private static final BiFunction<Object, Object, Object> SUM = (a, b) -> (Integer) a + (Integer) b;
+    private static final Integer ONE = 1;
+
+    @Param({"CHAINING", "OPEN_ADDRESSING", "SWISS_TABLE", "HASH_MAP"})
+    public TableKind kind;
+
+    @Param({"1000", "100000"})
+    public int vocabulary;
+
+    private String[] words;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dictionary = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            dictionary[i] = "w" + Integer.toString(i * 7919, 36);
+        }
+        Workload workload = new Workload(Workload.Distribution.ZIPFIAN, new Workload.Mix(1, 0, 0, 0), vocabulary, 42);
+        words = new String[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = dictionary[(int) workload.nextKey(Workload.Operation.READ)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public TableKind.Table getThenPut() {
+        TableKind.Table table = kind.create();
+        for (String word : words) {
+            Integer count = (Integer) table.get(word);
+            table.put(word, count == null ? ONE : count + 1);
+        }
+        return table;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public TableKind.Table merge() {
+        TableKind.Table table = kind.create();
+        for (String word : words) {
+            table.merge(word, ONE, SUM);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.hash_table.benchmarks;
+
+import java.util.SplittableRandom;
+
+// Генератор смешанной нагрузки в духе YCSB: вид каждой операции выбирается по заданным долям,
+// ключ - по распределению. Ключи - номера записей 0..keyCount-1; вставка добавляет следующий номер.
+public final class Workload {
+    public enum Operation {
+        READ,
+        UPDATE,
+        INSERT,
+        DELETE
+    }
+
+    public enum Distribution {
+        UNIFORM,
+        // Популярность ключа убывает по закону Ципфа с показателем ZIPFIAN_CONSTANT; самые частые - первые записи
+        ZIPFIAN,
+        // То же распределение, отсчитанное от последней вставленной записи
+        LATEST
+    }
+
+    // Доли операций чтения, обновления, вставки и удаления; записываются как "95/5/0/0"
+    public record Mix(double read, double update, double insert, double delete) {
+        public Mix {
+            if (read < 0 || update < 0 || insert < 0 || delete < 0 || read + update + insert + delete <= 0) {
+                throw new IllegalArgumentException("Invalid operation mix " + read + "/" + update + "/" + insert + "/" + delete);
+            }
+        }
+
+        public static Mix parse(String text) {
+            String[] parts = text.split("/");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Operation mix must be read/update/insert/delete: " + text);
+            }
+            return new Mix(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                    Double.parseDouble(parts[2]), Double.parseDouble(parts[3]));
+        }
+
+        @Override
+        public String toString() {
+            return format(read) + "/" + format(update) + "/" + format(insert) + "/" + format(delete);
+        }
+
+        private static String format(double share) {
+            return share == Math.rint(share) ? Long.toString((long) share) : Double.toString(share);
+        }
+    }
+
+    static final double ZIPFIAN_CONSTANT = 0.99;
+
+    private final Distribution distribution;
+    private final double readBound;
+    private final double updateBound;
+    private final double insertBound;
+    private final SplittableRandom random;
+    private long keyCount;
+
+    // Генератор Ципфа из статьи Gray et al. "Quickly generating billion-record synthetic databases",
+    // как в YCSB; zeta(n) досчитывается при росте числа записей
+    private final double alpha = 1 / (1 - ZIPFIAN_CONSTANT);
+    private final double zeta2 = zeta(0, 2, 0);
+    private long zetaCount;
+    private double zetaN;
+    private double eta;
+
+    public Workload(Distribution distribution, Mix mix, long keyCount, long seed) {
+        this.distribution = distribution;
+        double total = mix.read() + mix.update() + mix.insert() + mix.delete();
+        readBound = mix.read() / total;
+        updateBound = readBound + mix.update() / total;
+        insertBound = updateBound + mix.insert() / total;
+        this.keyCount = keyCount;
+        random = new SplittableRandom(seed);
+    }
+
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    public Operation nextOperation() {
+        double x = random.nextDouble();
+        if (x < readBound) {
+            return Operation.READ;
+        }
+        if (x < updateBound) {
+            return Operation.UPDATE;
+        }
+        return x < insertBound ? Operation.INSERT : Operation.DELETE;
+    }
+
+    // Ключ для операции; для INSERT - новый номер записи
+    public long nextKey(Operation operation) {
+        if (operation == Operation.INSERT) {
+            return keyCount++;
+        }
+        return switch (distribution) {
+            case UNIFORM -> random.nextLong(keyCount);
+            case ZIPFIAN -> zipfian(keyCount);
+            case LATEST -> keyCount - 1 - zipfian(keyCount);
+        };
+    }
+
+    private static double zeta(long from, long to, double initial) {
+        double sum = initial;
+        for (long i = from + 1; i <= to; i++) {
+            sum += 1 / Math.pow(i, ZIPFIAN_CONSTANT);
+        }
+        return sum;
+    }
+
+    private long zipfian(long items) {
+        if (items != zetaCount) {
+            zetaN = items > zetaCount ? zeta(zetaCount, items, zetaN) : zeta(0, items, 0);
+            zetaCount = items;
+            eta = (1 - Math.pow(2.0 / items, 1 - ZIPFIAN_CONSTANT)) / (1 - zeta2 / zetaN);
+        }
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < 1 + Math.pow(0.5, ZIPFIAN_CONSTANT)) {
+            return Math.min(1, items - 1);
+        }
+        return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.hash_table.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Замер задержек отдельных операций под смешанной нагрузкой (в дополнение к JMH, который даёт средние).
+// Для каждой реализации, коэффициента заполнения, распределения ключей и набора долей операций таблица
+// заполняется records записями, прогревается и выполняет operations операций; задержки собираются
+// в гистограммы по видам операций. При rate > 0 нагрузка открытая: операции запускаются по расписанию,
+// и задержка считается от назначенного момента, так что паузы (перестройка таблицы, сборка мусора)
+// учитываются во всех задержанных ими операциях, а не в одной.
+//
+// java -cp benchmarks/target/benchmarks.jar com.example.hash_table.benchmarks.WorkloadRunner \
+//     records=100000 operations=1000000 rate=0 kinds=CHAINING,SWISS_TABLE loadFactors=0.5,0.75 \
+//     distributions=ZIPFIAN mixes=95/5/0/0,50/0/25/25 out=workload.csv
+public final class WorkloadRunner {
+    private static final Object VALUE = new Object();
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private WorkloadRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int records = Integer.parseInt(options.getOrDefault("records", "100000"));
+        int operations = Integer.parseInt(options.getOrDefault("operations", "1000000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", Integer.toString(operations / 5)));
+        long rate = Long.parseLong(options.getOrDefault("rate", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path out = Path.of(options.getOrDefault("out", "workload.csv"));
+
+        List<TableKind> kinds = new ArrayList<>();
+        for (String name : options.getOrDefault("kinds", "CHAINING,OPEN_ADDRESSING,SWISS_TABLE,HASH_MAP").split(",")) {
+            kinds.add(TableKind.valueOf(name));
+        }
+        List<Double> loadFactors = new ArrayList<>();
+        for (String value : options.getOrDefault("loadFactors", "0.5,0.75,0.875").split(",")) {
+            loadFactors.add(Double.parseDouble(value));
+        }
+        List<Workload.Distribution> distributions = new ArrayList<>();
+        for (String name : options.getOrDefault("distributions", "UNIFORM,ZIPFIAN,LATEST").split(",")) {
+            distributions.add(Workload.Distribution.valueOf(name));
+        }
+        List<Workload.Mix> mixes = new ArrayList<>();
+        for (String mix : options.getOrDefault("mixes", "50/50/0/0,95/5/0/0,50/0/25/25").split(",")) {
+            mixes.add(Workload.Mix.parse(mix));
+        }
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out))) {
+            csv.println("kind,loadFactor,distribution,mix,rate,operation,count,meanNanos,p50Nanos,p99Nanos,p999Nanos,maxNanos");
+            System.out.printf("%-16s %5s %-8s %-12s %-7s %10s %9s %9s %9s %9s %11s%n",
+                    "kind", "lf", "keys", "mix", "op", "count", "mean", "p50", "p99", "p99.9", "max");
+            for (TableKind kind : kinds) {
+                for (double loadFactor : loadFactors) {
+                    for (Workload.Distribution distribution : distributions) {
+                        for (Workload.Mix mix : mixes) {
+                            Map<Workload.Operation, LatencyHistogram> histograms =
+                                    run(kind, loadFactor, distribution, mix, records, warmup, operations, rate, seed);
+                            LatencyHistogram all = new LatencyHistogram();
+                            for (LatencyHistogram histogram : histograms.values()) {
+                                all.add(histogram);
+                            }
+                            for (Map.Entry<Workload.Operation, LatencyHistogram> entry : histograms.entrySet()) {
+                                report(csv, kind, loadFactor, distribution, mix, rate, entry.getKey().name(), entry.getValue());
+                            }
+                            report(csv, kind, loadFactor, distribution, mix, rate, "ALL", all);
+                        }
+                    }
+                }
+            }
+        }
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    // Гистограммы только по операциям, которые встретились в замере
+    private static Map<Workload.Operation, LatencyHistogram> run(TableKind kind, double loadFactor,
+                                                               Workload.Distribution distribution, Workload.Mix mix,
+                                                               int records, int warmup, int operations,
+                                                               long rate, long seed) {
+        TableKind.Table table = kind.create(loadFactor);
+        for (long key = 0; key < records; key++) {
+            table.put(key, VALUE);
+        }
+        Workload workload = new Workload(distribution, mix, records, seed);
+        Map<Workload.Operation, LatencyHistogram> histograms = new EnumMap<>(Workload.Operation.class);
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+        execute(table, workload, warmup, rate, histograms);
+        histograms.values().forEach(LatencyHistogram::reset);
+        execute(table, workload, operations, rate, histograms);
+        histograms.values().removeIf(histogram -> histogram.getTotalCount() == 0);
+        return histograms;
+    }
+
+    private static void execute(TableKind.Table table, Workload workload, int operations, long rate,
+                                Map<Workload.Operation, LatencyHistogram> histograms) {
+        LatencyHistogram[] byOperation = new LatencyHistogram[Workload.Operation.values().length];
+        for (Map.Entry<Workload.Operation, LatencyHistogram> entry : histograms.entrySet()) {
+            byOperation[entry.getKey().ordinal()] = entry.getValue();
+        }
+        long interval = rate > 0 ? 1_000_000_000L / rate : 0;
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            Workload.Operation operation = workload.nextOperation();
+            Long key = workload.nextKey(operation);
+            long start;
+            if (interval > 0) {
+                scheduled += interval;
+                while (System.nanoTime() < scheduled) {
+                    Thread.onSpinWait();
+                }
+                start = scheduled;
+            } else {
+                start = System.nanoTime();
+            }
+            switch (operation) {
+                case READ -> table.get(key);
+                case UPDATE, INSERT -> table.put(key, VALUE);
+                case DELETE -> table.remove(key);
+            }
+            byOperation[operation.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    private static void report(PrintWriter csv, TableKind kind, double loadFactor, Workload.Distribution distribution,
+                               Workload.Mix mix, long rate, String operation, LatencyHistogram histogram) {
+        long[] percentiles = new long[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles[i] = histogram.getValueAtPercentile(PERCENTILES[i]);
+        }
+        csv.printf(Locale.ROOT, "%s,%s,%s,%s,%d,%s,%d,%.1f,%d,%d,%d,%d%n", kind, loadFactor, distribution, mix, rate,
+                operation, histogram.getTotalCount(), histogram.getMean(), percentiles[0], percentiles[1], percentiles[2],
+                histogram.getMax());
+        System.out.printf(Locale.ROOT, "%-16s %5s %-8s %-12s %-7s %10d %9.1f %9d %9d %9d %11d%n", kind, loadFactor,
+                distribution, mix, operation, histogram.getTotalCount(), histogram.getMean(), percentiles[0],
+                percentiles[1], percentiles[2], histogram.getMax());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Блочный фильтр Блума (Putze, Sanders, Singler, "Cache-, Hash- and Space-Efficient Bloom Filters"):
+// все биты ключа лежат в одном блоке из 512 бит - 64 байта, размер строки кеша, - так что ответ
+// "ключа нет" стоит одного обращения к памяти. Блок выбирается старшими битами перемешанного хеша,
+// позиции внутри блока - двойным хешированием по младшим. Удалять ключи из фильтра нельзя.
+final class BlockedBloomFilter {
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_LONGS = BLOCK_BITS / Long.SIZE;
+    private static final int MAX_HASH_COUNT = 16;
+    // Ключи распределяются по блокам неравномерно, и переполненные блоки дают больше ложных срабатываний,
+    // чем обычный фильтр той же памяти; запас бит на ключ это компенсирует
+    private static final double BLOCKING_OVERHEAD = 1.2;
+
+    private final long[] bits;
+    private final int blocks;
+    private final int hashCount;
+
+    BlockedBloomFilter(int expectedEntries, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        hashCount = (int) Math.max(1, Math.min(MAX_HASH_COUNT, Math.round(bitsPerKey * Math.log(2))));
+        long totalBits = (long) Math.ceil(Math.max(1, expectedEntries) * bitsPerKey * BLOCKING_OVERHEAD);
+        blocks = (int) Math.min(Integer.MAX_VALUE / BLOCK_LONGS, (totalBits + BLOCK_BITS - 1) / BLOCK_BITS);
+        bits = new long[blocks * BLOCK_LONGS];
+    }
+
+    // Первый элемент блока: старшие 32 бита умножаются на число блоков вместо деления с остатком
+    private int blockStart(long mixed) {
+        return (int) (((mixed >>> 32) * blocks) >>> 32) * BLOCK_LONGS;
+    }
+
+    void add(int hash) {
+        long mixed = Murmur3.fmix64(hash);
+        int start = blockStart(mixed);
+        int position = (int) mixed;
+        // Нечётный шаг по модулю 512 даёт hashCount разных позиций
+        int step = (int) (mixed >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++, position += step) {
+            int bit = position & (BLOCK_BITS - 1);
+            bits[start + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    // false - ключа с таким хешем точно нет; true - ключ, возможно, есть
+    boolean mightContain(int hash) {
+        long mixed = Murmur3.fmix64(hash);
+        int start = blockStart(mixed);
+        int position = (int) mixed;
+        int step = (int) (mixed >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++, position += step) {
+            int bit = position & (BLOCK_BITS - 1);
+            if ((bits[start + (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(bits, 0);
+    }
+
+    long memoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
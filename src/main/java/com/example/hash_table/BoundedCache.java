@@ -0,0 +1,268 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+// Кеш ограниченного размера на OpenAddressingStorage (той же открытой адресации, что у HashTable)
+// с вытеснением по алгоритму CLOCK. Бит обращения и вес каждой ячейки хранятся в массивах, параллельных
+// ячейкам хранилища: попадание только устанавливает бит. При переполнении "стрелка" обходит ячейки по кругу,
+// сбрасывая установленные биты, и вытесняет первую ячейку со сброшенным битом - без поиска ключа и без
+// отдельного списка LRU. Пробирование, удаление с уборкой "надгробий" и перестройка - от хранилища.
+// Ограничение задаётся числом элементов или суммарным весом, который считает weigher.
+// Ключи и значения не могут быть null.
+public class BoundedCache<K, V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final HashStrategy<? super K> hashStrategy;
+    private final long maximumWeight;
+    // null, если ограничено число элементов (вес каждого равен 1)
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private BiConsumer<? super K, ? super V> evictionListener;
+
+    private OpenAddressingStorage<K, V> storage;
+    // Параллельны ячейкам storage и перестраиваются вместе с ним
+    private int[] weights;
+    private long[] referenced;
+    private long weight;
+    private int hand;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public BoundedCache(int maximumSize) {
+        this(maximumSize, HashStrategy.defaultStrategy());
+    }
+
+    public BoundedCache(int maximumSize, HashStrategy<? super K> hashStrategy) {
+        this(positive(maximumSize, "Maximum size"), hashStrategy, null);
+    }
+
+    public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        this(maximumWeight, weigher, HashStrategy.defaultStrategy());
+    }
+
+    public BoundedCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+                        HashStrategy<? super K> hashStrategy) {
+        this(positive(maximumWeight, "Maximum weight"), hashStrategy, Objects.requireNonNull(weigher));
+    }
+
+    private BoundedCache(long maximumWeight, HashStrategy<? super K> hashStrategy,
+                         ToIntBiFunction<? super K, ? super V> weigher) {
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.hashStrategy = hashStrategy;
+        attach(new OpenAddressingStorage<>(INITIAL_CAPACITY, hashStrategy, HashTable.LOAD_FACTOR));
+    }
+
+    private static long positive(long limit, String name) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + limit);
+        }
+        return limit;
+    }
+
+    private void attach(OpenAddressingStorage<K, V> newStorage) {
+        int capacity = newStorage.capacity();
+        storage = newStorage;
+        weights = weigher == null ? null : new int[capacity];
+        referenced = new long[(capacity + 63) >>> 6];
+    }
+
+    // Вызывается для каждого вытесненного элемента (но не для удалённых через remove или clear).
+    // Слушатель не должен изменять кеш.
+    public void setEvictionListener(BiConsumer<? super K, ? super V> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    public int size() {
+        return storage.size();
+    }
+
+    public boolean isEmpty() {
+        return storage.size() == 0;
+    }
+
+    // Суммарный вес элементов; без weigher совпадает с size()
+    public long weightedSize() {
+        return weight;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    private boolean isReferenced(int index) {
+        return (referenced[index >>> 6] & 1L << index) != 0;
+    }
+
+    private void setReferenced(int index) {
+        referenced[index >>> 6] |= 1L << index;
+    }
+
+    private void clearReferenced(int index) {
+        referenced[index >>> 6] &= ~(1L << index);
+    }
+
+    private int weightAt(int index) {
+        return weights == null ? 1 : weights[index];
+    }
+
+    private int weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int w = weigher.applyAsInt(key, value);
+        if (w < 0) {
+            throw new IllegalArgumentException("Negative weight " + w + " for key " + key);
+        }
+        return w;
+    }
+
+    // Хеш перемешивается ещё раз: линейное пробирование чувствительно к сериям соседних хешей
+    private int hash(K key) {
+        return Murmur3.fmix(hashStrategy.hash(key));
+    }
+
+    public V get(K key) {
+        int index = storage.find(key, hash(key));
+        if (index < 0) {
+            misses++;
+            return null;
+        }
+        hits++;
+        setReferenced(index);
+        return storage.valueAt(index);
+    }
+
+    // Проверка наличия не считается обращением и не влияет на вытеснение
+    public boolean containsKey(K key) {
+        return storage.find(key, hash(key)) >= 0;
+    }
+
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int w = weigh(key, value);
+        int hash = hash(key);
+        int index = storage.probe(key, hash);
+        if (index >= 0) {
+            weight += w - weightAt(index);
+            storage.setValueAt(index, value);
+            if (weights != null) {
+                weights[index] = w;
+            }
+            setReferenced(index);
+            evictIfNeeded(index);
+            return;
+        }
+
+        index = -index - 1;
+        storage.insertAt(index, key, hash, value);
+        if (weights != null) {
+            weights[index] = w;
+        }
+        // Новый элемент попадает в кеш без бита обращения: ключ, к которому больше не обратятся,
+        // будет вытеснен при первом проходе стрелки
+        clearReferenced(index);
+        weight += w;
+        evictIfNeeded(index);
+
+        if (storage.needsResize()) {
+            rebuild();
+        }
+    }
+
+    public void remove(K key) {
+        int index = storage.find(key, hash(key));
+        if (index >= 0) {
+            delete(index);
+        }
+    }
+
+    public void clear() {
+        storage.clear();
+        Arrays.fill(referenced, 0);
+        weight = 0;
+        hand = 0;
+    }
+
+    // Вытеснение, пока превышен предел; только что записанный элемент protectedIndex вытесняется последним
+    private void evictIfNeeded(int protectedIndex) {
+        while (weight > maximumWeight) {
+            int victim = storage.size() > 1 ? nextVictim(protectedIndex) : protectedIndex;
+            K key = storage.keyAt(victim);
+            V value = storage.valueAt(victim);
+            delete(victim);
+            evictions++;
+            if (evictionListener != null) {
+                evictionListener.accept(key, value);
+            }
+        }
+    }
+
+    // Ход стрелки CLOCK: ячейки с битом обращения получают второй шанс. Кроме protectedIndex есть хотя бы
+    // один элемент, поэтому жертва найдётся не более чем за два оборота
+    private int nextVictim(int protectedIndex) {
+        while (true) {
+            int index = hand;
+            hand = index + 1 == storage.capacity() ? 0 : index + 1;
+            if (!storage.isOccupied(index) || index == protectedIndex) {
+                continue;
+            }
+            if (isReferenced(index)) {
+                clearReferenced(index);
+            } else {
+                return index;
+            }
+        }
+    }
+
+    // Ячейку освобождает хранилище: "надгробие" ставится, только если за ней продолжается цепочка проб
+    private void delete(int index) {
+        weight -= weightAt(index);
+        clearReferenced(index);
+        storage.removeAt(index);
+    }
+
+    // Перенос в хранилище новой ёмкости (или уплотнённое той же) вместе с битами обращения и весами
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        OpenAddressingStorage<K, V> oldStorage = storage;
+        int[] oldWeights = weights;
+        long[] oldReferenced = referenced;
+        attach((OpenAddressingStorage<K, V>) oldStorage.createResized());
+        for (int i = 0; i < oldStorage.capacity(); i++) {
+            if (!oldStorage.isOccupied(i)) {
+                continue;
+            }
+            int index = storage.place(oldStorage.keyAt(i), oldStorage.hashAt(i), oldStorage.valueAt(i));
+            if (weights != null) {
+                weights[index] = oldWeights[i];
+            }
+            if ((oldReferenced[i >>> 6] & 1L << i) != 0) {
+                setReferenced(index);
+            }
+        }
+        hand = 0;
+    }
+}
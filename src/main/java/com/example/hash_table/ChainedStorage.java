@@ -0,0 +1,350 @@
+package com.example.hash_table;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+// Разрешение коллизий методом цепочек: каждая корзина хранит список узлов.
+// Слишком длинная цепочка превращается в дерево (TreeBin), а при сокращении - обратно в список.
+class ChainedStorage<K, V> extends Storage<K, V> {
+    static final int TREEIFY_THRESHOLD = 8;
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    private final List<HashTable.Node<K, V>>[] table;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    ChainedStorage(int capacity, HashStrategy<? super K> strategy, double loadFactor) {
+        super(strategy, loadFactor);
+        table = new List[capacity];
+    }
+
+    @Override
+    int capacity() {
+        return table.length;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    V get(K key, int hash) {
+        HashTable.Node<K, V> node = findNode(key, hash);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    V getOrDefault(K key, int hash, V defaultValue) {
+        HashTable.Node<K, V> node = findNode(key, hash);
+        return node == null ? defaultValue : node.value;
+    }
+
+    @Override
+    boolean containsKey(K key, int hash) {
+        return findNode(key, hash) != null;
+    }
+
+    private HashTable.Node<K, V> findNode(K key, int hash) {
+        List<HashTable.Node<K, V>> chain = table[hash & (table.length - 1)];
+        if (chain instanceof TreeBin<K, V> tree) {
+            if (statistics != null) {
+                statistics.recordTreeLookup();
+            }
+            return tree.find(key, hash);
+        }
+        int position = findPosition(chain, key, hash);
+        return position < 0 ? null : chain.get(position);
+    }
+
+    // Позиция узла с ключом в списке-корзине или -1
+    private int findPosition(List<HashTable.Node<K, V>> chain, K key, int hash) {
+        int length = 0;
+        if (chain != null) {
+            while (length < chain.size()) {
+                HashTable.Node<K, V> node = chain.get(length++);
+                if (node.hash == hash && strategy.equals(node.key, key)) {
+                    if (statistics != null) {
+                        statistics.recordChain(length);
+                    }
+                    return length - 1;
+                }
+            }
+        }
+        if (statistics != null) {
+            statistics.recordChain(length);
+        }
+        return -1;
+    }
+
+    @Override
+    V put(K key, int hash, V value) {
+        HashTable.Node<K, V> node = findNode(key, hash);
+        if (node != null) {
+            V old = node.value;
+            node.value = value;
+            return old;
+        }
+        addNode(new HashTable.Node<>(key, value, hash));
+        return null;
+    }
+
+    @Override
+    V putIfAbsent(K key, int hash, V value) {
+        HashTable.Node<K, V> node = findNode(key, hash);
+        if (node != null) {
+            return node.value;
+        }
+        addNode(new HashTable.Node<>(key, value, hash));
+        return null;
+    }
+
+    @Override
+    V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int index = hash & (table.length - 1);
+        List<HashTable.Node<K, V>> chain = table[index];
+        HashTable.Node<K, V> node;
+        // Позиция в списке запоминается, чтобы удалить узел без второго прохода по корзине
+        int position = -1;
+        if (chain instanceof TreeBin) {
+            node = findNode(key, hash);
+        } else {
+            position = findPosition(chain, key, hash);
+            node = position < 0 ? null : chain.get(position);
+        }
+        V value = remappingFunction.apply(key, node == null ? null : node.value);
+        if (node == null) {
+            if (value != null) {
+                addNode(new HashTable.Node<>(key, value, hash));
+            }
+        } else if (value != null) {
+            node.value = value;
+        } else {
+            unlink(index, node, position);
+        }
+        return value;
+    }
+
+    // Удаление уже найденного узла корзины index без повторного поиска ключа:
+    // из дерева - по самому узлу, из списка - по его позиции
+    private void unlink(int index, HashTable.Node<K, V> node, int position) {
+        List<HashTable.Node<K, V>> chain = table[index];
+        if (chain instanceof TreeBin<K, V> tree) {
+            tree.removeNode(node, node.hash);
+            if (tree.size() <= UNTREEIFY_THRESHOLD) {
+                table[index] = new ArrayList<>(tree);
+            }
+        } else {
+            chain.remove(position);
+        }
+        size--;
+    }
+
+    // Ключ всегда попадает в свою корзину, поэтому диапазон не ограничивает вставку
+    @Override
+    int putInRange(K key, int hash, V value, int from, int to) {
+        HashTable.Node<K, V> node = findNode(key, hash);
+        if (node != null) {
+            node.value = value;
+            return 0;
+        }
+        link(new HashTable.Node<>(key, value, hash));
+        return 1;
+    }
+
+    // Добавление узла с ключом, которого нет в таблице
+    private void addNode(HashTable.Node<K, V> node) {
+        link(node);
+        size++;
+    }
+
+    private void link(HashTable.Node<K, V> node) {
+        int index = node.hash & (table.length - 1);
+        List<HashTable.Node<K, V>> chain = table[index];
+        if (chain instanceof TreeBin<K, V> tree) {
+            tree.insert(node, node.hash);
+            if (statistics != null) {
+                statistics.recordOccupancy(tree.size());
+            }
+            return;
+        }
+        if (chain == null) {
+            chain = table[index] = new ArrayList<>();
+        }
+        chain.add(node);
+        if (statistics != null) {
+            statistics.recordOccupancy(chain.size());
+        }
+        if (chain.size() >= TREEIFY_THRESHOLD) {
+            treeify(index);
+        }
+    }
+
+    @Override
+    void addToSize(int delta) {
+        size += delta;
+    }
+
+    @Override
+    V remove(K key, int hash) {
+        int index = hash & (table.length - 1);
+        List<HashTable.Node<K, V>> chain = table[index];
+        if (chain instanceof TreeBin<K, V> tree) {
+            HashTable.Node<K, V> removed = tree.remove(key, hash);
+            if (removed == null) {
+                return null;
+            }
+            size--;
+            if (tree.size() <= UNTREEIFY_THRESHOLD) {
+                table[index] = new ArrayList<>(tree);
+            }
+            return removed.value;
+        }
+        if (chain != null) {
+            Iterator<HashTable.Node<K, V>> iterator = chain.iterator();
+            while (iterator.hasNext()) {
+                HashTable.Node<K, V> node = iterator.next();
+                if (node.hash == hash && strategy.equals(node.key, key)) {
+                    iterator.remove();
+                    size--;
+                    return node.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void treeify(int index) {
+        TreeBin<K, V> tree = new TreeBin<>(strategy);
+        for (HashTable.Node<K, V> node : table[index]) {
+            tree.insert(node, node.hash);
+        }
+        table[index] = tree;
+    }
+
+    @Override
+    void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+        size = 0;
+    }
+
+    @Override
+    boolean needsResize() {
+        return size >= loadFactor * table.length;
+    }
+
+    @Override
+    Storage<K, V> createResized() {
+        return new ChainedStorage<>(2 * table.length, strategy, loadFactor);
+    }
+
+    @Override
+    void insertNew(K key, int hash, V value) {
+        append(new HashTable.Node<>(key, value, hash));
+    }
+
+    private void append(HashTable.Node<K, V> node) {
+        int hash = node.hash;
+        int index = hash & (table.length - 1);
+        List<HashTable.Node<K, V>> chain = table[index];
+        if (chain instanceof TreeBin<K, V> tree) {
+            tree.insert(node, hash);
+        } else {
+            if (chain == null) {
+                chain = table[index] = new ArrayList<>();
+            }
+            chain.add(node);
+            if (chain.size() >= TREEIFY_THRESHOLD) {
+                treeify(index);
+            }
+        }
+        size++;
+    }
+
+    @Override
+    void transferBucket(int index, Storage<K, V> target) {
+        List<HashTable.Node<K, V>> chain = table[index];
+        if (chain == null) {
+            return;
+        }
+        table[index] = null;
+        size -= chain.size();
+        if (target instanceof ChainedStorage<K, V> chained) {
+            // Узлы переносятся без создания новых и без пересчёта хешей
+            for (HashTable.Node<K, V> node : chain) {
+                chained.append(node);
+            }
+        } else {
+            for (HashTable.Node<K, V> node : chain) {
+                target.insertNew(node.key, node.hash, node.value);
+            }
+        }
+    }
+
+    @Override
+    void forEachInBucket(int index, BiConsumer<? super K, ? super V> action) {
+        if (table[index] != null) {
+            for (HashTable.Node<K, V> node : table[index]) {
+                action.accept(node.key, node.value);
+            }
+        }
+    }
+
+    @Override
+    List<HashTable.Node<K, V>>[] toBucketArray() {
+        return table;
+    }
+
+    @Override
+    int count(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (table[i] != null) {
+                count += table[i].size();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    Cursor<K, V> cursor(int from, int to) {
+        return new Cursor<>() {
+            private int index = from - 1;
+            private Iterator<HashTable.Node<K, V>> chain;
+            private HashTable.Node<K, V> current;
+
+            @Override
+            public boolean advance() {
+                while (chain == null || !chain.hasNext()) {
+                    if (++index >= to) {
+                        current = null;
+                        return false;
+                    }
+                    chain = table[index] == null ? null : table[index].iterator();
+                }
+                current = chain.next();
+                return true;
+            }
+
+            @Override
+            public K key() {
+                return current.key;
+            }
+
+            @Override
+            public V value() {
+                return current.value;
+            }
+
+            @Override
+            public int hash() {
+                return current.hash;
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hash_table;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Преобразование ключей и значений в байты для снимков таблицы
+public interface Codec<T> {
+    byte[] encode(T value);
+
+    // Чтение значения из length байт буфера начиная с offset (позиция буфера не меняется)
+    T decode(ByteBuffer buffer, int offset, int length);
+
+    static Codec<String> utf8() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer, int offset, int length) {
+                byte[] bytes = new byte[length];
+                buffer.get(offset, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    static Codec<Integer> integers() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(Integer value) {
+                return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int offset, int length) {
+                return buffer.getInt(offset);
+            }
+        };
+    }
+
+    // Целое в десятичной записи ASCII - для текстовых файлов (HashTableText)
+    static Codec<Integer> decimalIntegers() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(Integer value) {
+                return Integer.toString(value).getBytes(StandardCharsets.US_ASCII);
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer, int offset, int length) {
+                int end = offset + length;
+                boolean negative = length > 1 && buffer.get(offset) == '-';
+                int i = negative || length > 1 && buffer.get(offset) == '+' ? offset + 1 : offset;
+                if (i == end) {
+                    throw new NumberFormatException("Empty number");
+                }
+                // Накопление в отрицательную сторону, как в Integer.parseInt, чтобы уместить Integer.MIN_VALUE
+                int result = 0;
+                for (; i < end; i++) {
+                    int digit = buffer.get(i) - '0';
+                    if (digit < 0 || digit > 9 || result < Integer.MIN_VALUE / 10
+                            || result * 10 < Integer.MIN_VALUE + digit) {
+                        byte[] text = new byte[length];
+                        buffer.get(offset, text);
+                        throw new NumberFormatException("Not an int: " + new String(text, StandardCharsets.UTF_8));
+                    }
+                    result = result * 10 - digit;
+                }
+                if (!negative && result == Integer.MIN_VALUE) {
+                    throw new NumberFormatException("Not an int: " + Integer.MIN_VALUE);
+                }
+                return negative ? result : -result;
+            }
+        };
+    }
+
+    static Codec<Long> longs() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(Long value) {
+                return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+            }
+
+            @Override
+            public Long decode(ByteBuffer buffer, int offset, int length) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    static Codec<byte[]> bytes() {
+        return new Codec<>() {
+            @Override
+            public byte[] encode(byte[] value) {
+                return value;
+            }
+
+            @Override
+            public byte[] decode(ByteBuffer buffer, int offset, int length) {
+                byte[] bytes = new byte[length];
+                buffer.get(offset, bytes);
+                return bytes;
+            }
+        };
+    }
+}
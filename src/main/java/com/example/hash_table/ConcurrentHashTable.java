@@ -0,0 +1,496 @@
+package com.example.hash_table;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Потокобезопасная хеш-таблица. Ключи распределяются по сегментам, у каждого сегмента своя блокировка
+// и своя таблица: put/remove блокируют только свой сегмент, get не блокирует ничего.
+// Сегменты растут независимо, поэтому перестройка разных сегментов идёт параллельно в разных потоках.
+// Перестройку одного сегмента начинает писатель под его блокировкой, а писатели, пришедшие в сегмент
+// во время неё, не ждут блокировку впустую: как transferIndex в ConcurrentHashMap, они забирают интервалы
+// старой таблицы по TRANSFER_STRIDE корзин и переносят их. Пересылающих узлов нет: пока идёт перенос,
+// старая таблица не меняется и читатели пользуются ей, а новая публикуется целиком после последнего интервала.
+// Ключи и значения null не допускаются.
+public class ConcurrentHashTable<K, V> {
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final int TRANSFER_STRIDE = 64;
+
+    private final HashStrategy<? super K> hashStrategy;
+    private final HashTable.CollisionResolution collisionResolution;
+    private final Segment<K, V, ?>[] segments;
+    private final int segmentShift;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentHashTable() {
+        this(HashTable.CollisionResolution.CHAINING);
+    }
+
+    public ConcurrentHashTable(HashTable.CollisionResolution collisionResolution) {
+        this(collisionResolution, HashStrategy.defaultStrategy(), 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashTable(HashTable.CollisionResolution collisionResolution, HashStrategy<? super K> hashStrategy,
+                               int concurrencyLevel) {
+        if (collisionResolution == HashTable.CollisionResolution.SWISS_TABLE) {
+            throw new IllegalArgumentException("Concurrent table does not support " + collisionResolution);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+        }
+        this.hashStrategy = hashStrategy;
+        this.collisionResolution = collisionResolution;
+
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENTS) {
+            segmentCount <<= 1;
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        segments = (Segment<K, V, ?>[]) new Segment<?, ?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = collisionResolution == HashTable.CollisionResolution.OPEN_ADDRESSING
+                    ? new OpenAddressingSegment<>(hashStrategy)
+                    : new ChainedSegment<>(hashStrategy);
+        }
+    }
+
+    public HashTable.CollisionResolution getCollisionResolution() {
+        return collisionResolution;
+    }
+
+    public HashStrategy<? super K> getHashStrategy() {
+        return hashStrategy;
+    }
+
+    // Хеш перемешивается ещё раз: старшие биты выбирают сегмент, младшие - корзину внутри него
+    private int hash(K key) {
+        return Murmur3.fmix(hashStrategy.hash(key));
+    }
+
+    private Segment<K, V, ?> segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    public int size() {
+        return (int) Math.min(size.sum(), Integer.MAX_VALUE);
+    }
+
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    public V get(K key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not supported");
+        }
+        int hash = hash(key);
+        if (segmentFor(hash).put(key, hash, value)) {
+            size.increment();
+        }
+    }
+
+    // true, если ключ был в таблице
+    public boolean remove(K key) {
+        int hash = hash(key);
+        if (segmentFor(hash).remove(key, hash)) {
+            size.decrement();
+            return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        for (Segment<K, V, ?> segment : segments) {
+            size.add(-segment.clear());
+        }
+    }
+
+    // Суммарная ёмкость всех сегментов
+    public int getTableSize() {
+        int capacity = 0;
+        for (Segment<K, V, ?> segment : segments) {
+            capacity += segment.capacity();
+        }
+        return capacity;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    // Перестройка одного сегмента: index - граница ещё не розданных корзин старой таблицы (раздаются с конца),
+    // active - число потоков, переносящих свой интервал
+    private static final class Transfer<E> {
+        final AtomicReferenceArray<E> oldTable;
+        final AtomicReferenceArray<E> newTable;
+        final AtomicInteger index;
+        final AtomicInteger active = new AtomicInteger();
+
+        Transfer(AtomicReferenceArray<E> oldTable, AtomicReferenceArray<E> newTable) {
+            this.oldTable = oldTable;
+            this.newTable = newTable;
+            this.index = new AtomicInteger(oldTable.length());
+        }
+    }
+
+    // E - тип элемента массива корзин. Сегмент наследует Serializable от ReentrantLock, но не сериализуется
+    @SuppressWarnings("serial")
+    private abstract static class Segment<K, V, E> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        final HashStrategy<? super K> strategy;
+        // Изменяется только под блокировкой сегмента
+        int count;
+        // Идущая перестройка; существует, только пока начавший её поток держит блокировку
+        private volatile Transfer<E> transfer;
+
+        Segment(HashStrategy<? super K> strategy) {
+            this.strategy = strategy;
+        }
+
+        // Писатель, заставший перестройку, сначала помогает перенести таблицу, а потом ждёт блокировку
+        final void lockOrHelp() {
+            Transfer<E> current = transfer;
+            if (current != null) {
+                helpTransfer(current);
+            }
+            lock();
+        }
+
+        // Вызывается под блокировкой. Возвращает заполненную новую таблицу; публикует её вызывающий
+        final AtomicReferenceArray<E> transfer(AtomicReferenceArray<E> oldTable, int capacity) {
+            Transfer<E> current = new Transfer<>(oldTable, new AtomicReferenceArray<>(capacity));
+            transfer = current;
+            helpTransfer(current);
+            // Интервалы розданы, но помощники могут ещё переносить свои
+            while (current.active.get() > 0) {
+                Thread.yield();
+            }
+            transfer = null;
+            return current.newTable;
+        }
+
+        // Счётчик active увеличивается до захвата интервала, поэтому поток, увидевший исчерпанный index
+        // и затем active == 0, знает, что все интервалы перенесены
+        private void helpTransfer(Transfer<E> current) {
+            current.active.incrementAndGet();
+            try {
+                int end;
+                while ((end = current.index.getAndAdd(-TRANSFER_STRIDE)) > 0) {
+                    transferRange(current.oldTable, current.newTable, Math.max(0, end - TRANSFER_STRIDE), end);
+                }
+            } finally {
+                current.active.decrementAndGet();
+            }
+        }
+
+        // Переносит корзины [from, to) старой таблицы; параллельно с другими интервалами той же перестройки
+        abstract void transferRange(AtomicReferenceArray<E> oldTable, AtomicReferenceArray<E> newTable, int from, int to);
+
+        abstract int capacity();
+
+        abstract V get(K key, int hash);
+
+        // true, если ключ добавлен, а не заменено значение существующего
+        abstract boolean put(K key, int hash, V value);
+
+        abstract boolean remove(K key, int hash);
+
+        // Возвращает число удалённых элементов
+        abstract int clear();
+    }
+
+    // Узлы цепочки неизменяемы, кроме значения: при удалении копируется префикс цепочки,
+    // поэтому читатель без блокировки всегда видит целостную цепочку
+    private static final class ChainNode<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final ChainNode<K, V> next;
+
+        ChainNode(int hash, K key, V value, ChainNode<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private static final class ChainedSegment<K, V> extends Segment<K, V, ChainNode<K, V>> {
+        private static final long serialVersionUID = 1L;
+
+        private volatile AtomicReferenceArray<ChainNode<K, V>> table =
+                new AtomicReferenceArray<>(INITIAL_SEGMENT_CAPACITY);
+
+        ChainedSegment(HashStrategy<? super K> strategy) {
+            super(strategy);
+        }
+
+        @Override
+        int capacity() {
+            return table.length();
+        }
+
+        @Override
+        V get(K key, int hash) {
+            AtomicReferenceArray<ChainNode<K, V>> tab = table;
+            for (ChainNode<K, V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+                if (e.hash == hash && strategy.equals(e.key, key)) {
+                    return e.value;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        boolean put(K key, int hash, V value) {
+            lockOrHelp();
+            try {
+                AtomicReferenceArray<ChainNode<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                ChainNode<K, V> first = tab.get(index);
+                for (ChainNode<K, V> e = first; e != null; e = e.next) {
+                    if (e.hash == hash && strategy.equals(e.key, key)) {
+                        e.value = value;
+                        return false;
+                    }
+                }
+                tab.set(index, new ChainNode<>(hash, key, value, first));
+                if (++count >= HashTable.LOAD_FACTOR * tab.length()) {
+                    resize(tab);
+                }
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        @Override
+        boolean remove(K key, int hash) {
+            lockOrHelp();
+            try {
+                AtomicReferenceArray<ChainNode<K, V>> tab = table;
+                int index = hash & (tab.length() - 1);
+                ChainNode<K, V> first = tab.get(index);
+                for (ChainNode<K, V> e = first; e != null; e = e.next) {
+                    if (e.hash == hash && strategy.equals(e.key, key)) {
+                        ChainNode<K, V> head = e.next;
+                        for (ChainNode<K, V> p = first; p != e; p = p.next) {
+                            head = new ChainNode<>(p.hash, p.key, p.value, head);
+                        }
+                        tab.set(index, head);
+                        count--;
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                unlock();
+            }
+        }
+
+        // Новая таблица заполняется целиком и только потом публикуется через volatile-поле
+        private void resize(AtomicReferenceArray<ChainNode<K, V>> oldTable) {
+            table = transfer(oldTable, 2 * oldTable.length());
+        }
+
+        // При удвоении корзина i попадает только в i и i + n, так что интервалы пишут в непересекающиеся корзины.
+        // Обычной записи достаточно: новую таблицу видят только после публикации, которая следует за active == 0
+        @Override
+        void transferRange(AtomicReferenceArray<ChainNode<K, V>> oldTable, AtomicReferenceArray<ChainNode<K, V>> newTable,
+                           int from, int to) {
+            int mask = newTable.length() - 1;
+            for (int i = from; i < to; i++) {
+                for (ChainNode<K, V> e = oldTable.get(i); e != null; e = e.next) {
+                    int index = e.hash & mask;
+                    newTable.setPlain(index, new ChainNode<>(e.hash, e.key, e.value, newTable.getPlain(index)));
+                }
+            }
+        }
+
+        @Override
+        int clear() {
+            lock();
+            try {
+                int removed = count;
+                table = new AtomicReferenceArray<>(INITIAL_SEGMENT_CAPACITY);
+                count = 0;
+                return removed;
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    // Ячейка открытой адресации: ключ и хеш неизменяемы, поэтому читатель получает ключ и значение
+    // из одного объекта и не может увидеть значение, записанное для другого ключа
+    private static final class Slot<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+
+        Slot(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class OpenAddressingSegment<K, V> extends Segment<K, V, Slot<K, V>> {
+        private static final long serialVersionUID = 1L;
+
+        private static final Slot<?, ?> TOMBSTONE = new Slot<>(0, null, null);
+
+        private volatile AtomicReferenceArray<Slot<K, V>> slots =
+                new AtomicReferenceArray<>(INITIAL_SEGMENT_CAPACITY);
+        private int tombstones;
+
+        OpenAddressingSegment(HashStrategy<? super K> strategy) {
+            super(strategy);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> Slot<K, V> tombstone() {
+            return (Slot<K, V>) TOMBSTONE;
+        }
+
+        @Override
+        int capacity() {
+            return slots.length();
+        }
+
+        @Override
+        V get(K key, int hash) {
+            AtomicReferenceArray<Slot<K, V>> tab = slots;
+            int mask = tab.length() - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Slot<K, V> slot = tab.get(index);
+                if (slot == null) {
+                    return null;
+                }
+                if (slot.hash == hash && slot != TOMBSTONE && strategy.equals(slot.key, key)) {
+                    return slot.value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        @Override
+        boolean put(K key, int hash, V value) {
+            lockOrHelp();
+            try {
+                AtomicReferenceArray<Slot<K, V>> tab = slots;
+                int mask = tab.length() - 1;
+                int index = hash & mask;
+                int firstTombstone = -1;
+                for (int probes = 0; probes <= mask; probes++) {
+                    Slot<K, V> slot = tab.get(index);
+                    if (slot == null) {
+                        break;
+                    }
+                    if (slot == TOMBSTONE) {
+                        if (firstTombstone < 0) {
+                            firstTombstone = index;
+                        }
+                    } else if (slot.hash == hash && strategy.equals(slot.key, key)) {
+                        slot.value = value;
+                        return false;
+                    }
+                    index = (index + 1) & mask;
+                }
+                if (firstTombstone >= 0) {
+                    index = firstTombstone;
+                    tombstones--;
+                }
+                tab.set(index, new Slot<>(hash, key, value));
+                if (++count + tombstones >= HashTable.LOAD_FACTOR * tab.length()) {
+                    resize(tab);
+                }
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        @Override
+        boolean remove(K key, int hash) {
+            lockOrHelp();
+            try {
+                AtomicReferenceArray<Slot<K, V>> tab = slots;
+                int mask = tab.length() - 1;
+                int index = hash & mask;
+                for (int probes = 0; probes <= mask; probes++) {
+                    Slot<K, V> slot = tab.get(index);
+                    if (slot == null) {
+                        return false;
+                    }
+                    if (slot.hash == hash && slot != TOMBSTONE && strategy.equals(slot.key, key)) {
+                        tab.set(index, tombstone());
+                        count--;
+                        if (++tombstones > tab.length() / 4) {
+                            resize(tab);
+                        }
+                        return true;
+                    }
+                    index = (index + 1) & mask;
+                }
+                return false;
+            } finally {
+                unlock();
+            }
+        }
+
+        // Перенос тех же объектов ячеек: обновления значений видны и читателям старого массива
+        private void resize(AtomicReferenceArray<Slot<K, V>> oldSlots) {
+            int capacity = count >= HashTable.LOAD_FACTOR * oldSlots.length() / 2
+                    ? 2 * oldSlots.length()
+                    : oldSlots.length();
+            slots = transfer(oldSlots, capacity);
+            tombstones = 0;
+        }
+
+        // Цепочки проб разных интервалов пересекаются, поэтому ячейка новой таблицы занимается через CAS
+        @Override
+        void transferRange(AtomicReferenceArray<Slot<K, V>> oldSlots, AtomicReferenceArray<Slot<K, V>> newSlots,
+                           int from, int to) {
+            int mask = newSlots.length() - 1;
+            for (int i = from; i < to; i++) {
+                Slot<K, V> slot = oldSlots.get(i);
+                if (slot != null && slot != TOMBSTONE) {
+                    int index = slot.hash & mask;
+                    while (!newSlots.compareAndSet(index, null, slot)) {
+                        index = (index + 1) & mask;
+                    }
+                }
+            }
+        }
+
+        @Override
+        int clear() {
+            lock();
+            try {
+                int removed = count;
+                slots = new AtomicReferenceArray<>(INITIAL_SEGMENT_CAPACITY);
+                count = 0;
+                tombstones = 0;
+                return removed;
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.hash_table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+public class ConcurrentHashTableTest {
+    private static final int KEY_COUNT = 1_000_000;
+    private static final long MEASURE_MILLIS = 1000;
+
+    // Проверка корректности: потоки пишут и удаляют в своих диапазонах ключей, а читают весь диапазон.
+    // При concurrencyLevel = 1 все писатели попадают в один сегмент и вместе переносят его при перестройке
+    private static void stressTest(HashTable.CollisionResolution resolution, int threads, int concurrencyLevel)
+            throws InterruptedException {
+        ConcurrentHashTable<Integer, Integer> table =
+                new ConcurrentHashTable<>(resolution, HashStrategy.defaultStrategy(), concurrencyLevel);
+        int keysPerThread = 100_000;
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int from = t * keysPerThread;
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < keysPerThread; i++) {
+                    table.put(from + i, from + i);
+                }
+                for (int i = 0; i < keysPerThread; i += 2) {
+                    table.remove(from + i);
+                }
+                for (int i = 0; i < keysPerThread; i++) {
+                    int key = random.nextInt(threads * keysPerThread);
+                    Integer value = table.get(key);
+                    if (value != null && value != key) {
+                        throw new IllegalStateException("Key " + key + " maps to " + value);
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.setUncaughtExceptionHandler((thread, e) -> {
+                synchronized (errors) {
+                    errors.add(e);
+                }
+            });
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        int expectedSize = threads * keysPerThread / 2;
+        int found = 0;
+        for (int key = 0; key < threads * keysPerThread; key++) {
+            Integer value = table.get(key);
+            if (key % 2 == 0 ? value != null : value == null || value != key) {
+                errors.add(new IllegalStateException("Wrong value for key " + key + ": " + value));
+                break;
+            }
+            if (value != null) {
+                found++;
+            }
+        }
+        if (table.size() != expectedSize || found != expectedSize) {
+            errors.add(new IllegalStateException("Size " + table.size() + ", found " + found + ", expected " + expectedSize));
+        }
+        System.out.println("Стресс-тест " + resolution + ", потоков " + threads + ", сегментов " + table.getSegmentCount() + ": "
+                + (errors.isEmpty() ? "OK" : "ошибки " + errors));
+    }
+
+    // Пропускная способность чтения: каждый поток в течение MEASURE_MILLIS ищет случайные ключи
+    private static long measureReads(IntFunction<Object> reader, int threads) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] operations = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                long deadline = System.nanoTime() + MEASURE_MILLIS * 1_000_000;
+                while (System.nanoTime() < deadline) {
+                    for (int i = 0; i < 1000; i++) {
+                        if (reader.apply(random.nextInt(KEY_COUNT)) != null) {
+                            count++;
+                        }
+                    }
+                }
+                operations[index] = count;
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            total += operations[t];
+        }
+        return total * 1000 / MEASURE_MILLIS;
+    }
+
+    private static void readScaling(String name, IntFunction<Object> reader) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        measureReads(reader, cores); // прогрев
+        long single = 0;
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            long opsPerSecond = measureReads(reader, threads);
+            if (threads == 1) {
+                single = opsPerSecond;
+            }
+            System.out.printf("%s, потоков %d: %,d операций чтения в секунду, ускорение %.2f%n",
+                    name, threads, opsPerSecond, (double) opsPerSecond / single);
+        }
+    }
+
+    // Один писатель меняет значения парами через putAll (пара публикуется одной версией), так что сумма
+    // значений в любом снимке равна нулю; читатели проверяют это и размер снимка, не блокируя писателя
+    private static void snapshotStressTest(int readers, int updates) throws InterruptedException {
+        HashTable<Integer, Integer> table = new HashTable<>();
+        table.setIncrementalResize(true);
+        table.setSnapshotsEnabled(true);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Throwable> errors = new ArrayList<>();
+        long[] checkedSnapshots = new long[readers];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < readers; t++) {
+            int index = t;
+            workers.add(new Thread(() -> {
+                while (!done.get()) {
+                    PersistentHashTable<Integer, Integer> snapshot = table.snapshot();
+                    long sum = 0;
+                    int count = 0;
+                    HashTable.Cursor<Integer, Integer> cursor = snapshot.cursor();
+                    while (cursor.advance()) {
+                        sum += cursor.value();
+                        count++;
+                    }
+                    if (sum != 0 || count != snapshot.size()) {
+                        throw new IllegalStateException("Inconsistent snapshot: sum " + sum + ", " + count
+                                + " entries, size " + snapshot.size());
+                    }
+                    checkedSnapshots[index]++;
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.setUncaughtExceptionHandler((thread, e) -> {
+                synchronized (errors) {
+                    errors.add(e);
+                }
+            });
+            worker.start();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < updates; i++) {
+            int key = random.nextInt(KEY_COUNT / 10) * 2;
+            int value = random.nextInt();
+            table.putAll(new Integer[]{key, key + 1}, new Integer[]{value, -value});
+        }
+        done.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long checked = 0;
+        for (long count : checkedSnapshots) {
+            checked += count;
+        }
+        System.out.println("Снимки при одном писателе, читателей " + readers + ": проверено снимков " + checked + ", "
+                + (errors.isEmpty() ? "OK" : "ошибки " + errors));
+    }
+
+    // Цена публикации версий для писателя: put без снимков и со снимками
+    private static void measureSnapshotWrites(int updates) {
+        for (boolean snapshots : new boolean[]{false, true}) {
+            HashTable<Integer, Integer> table = new HashTable<>(KEY_COUNT);
+            table.setSnapshotsEnabled(snapshots);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long startTime = System.nanoTime();
+            for (int i = 0; i < updates; i++) {
+                table.put(random.nextInt(KEY_COUNT), i);
+            }
+            long elapsed = System.nanoTime() - startTime;
+            System.out.println("HashTable.put " + (snapshots ? "со снимками" : "без снимков") + ": "
+                    + elapsed / updates + " нс");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<HashTable.CollisionResolution> resolutions =
+                List.of(HashTable.CollisionResolution.CHAINING, HashTable.CollisionResolution.OPEN_ADDRESSING);
+        for (HashTable.CollisionResolution resolution : resolutions) {
+            stressTest(resolution, Math.max(4, cores), 4 * cores);
+            stressTest(resolution, Math.max(4, cores), 1);
+        }
+
+        for (HashTable.CollisionResolution resolution : resolutions) {
+            ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<>(resolution);
+            for (int i = 0; i < KEY_COUNT; i++) {
+                table.put(i, i);
+            }
+            readScaling("ConcurrentHashTable " + resolution, table::get);
+        }
+
+        // Базовая линия: обычная HashTable под глобальной блокировкой
+        HashTable<Integer, Integer> lockedTable = new HashTable<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            lockedTable.put(i, i);
+        }
+        readScaling("HashTable под synchronized", key -> {
+            synchronized (lockedTable) {
+                return lockedTable.get(key);
+            }
+        });
+
+        // Неизменяемые снимки: читатели не блокируются, пока единственный писатель изменяет таблицу
+        snapshotStressTest(Math.max(2, cores - 1), 200_000);
+        measureSnapshotWrites(2_000_000);
+        HashTable<Integer, Integer> snapshotTable = new HashTable<>();
+        snapshotTable.setSnapshotsEnabled(true);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            snapshotTable.put(i, i);
+        }
+        AtomicBoolean stopWriter = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!stopWriter.get()) {
+                int key = random.nextInt(KEY_COUNT);
+                snapshotTable.put(key, key);
+            }
+        });
+        writer.start();
+        readScaling("HashTable.snapshot() при работающем писателе", key -> snapshotTable.snapshot().get(key));
+        stopWriter.set(true);
+        writer.join();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hash_table;
+
+// Сравнение управляющих байтов одной группы SwissTableStorage (GROUP_WIDTH = 16 ячеек с offset).
+// Результат - маска из 16 бит: бит i относится к ячейке offset + i.
+// Реализация выбирается один раз: векторная, если JVM запущена с --add-modules jdk.incubator.vector,
+// иначе SWAR по двум long. Поле с реализацией статическое и final, поэтому JIT встраивает её вызовы.
+interface GroupMatcher {
+    // Ячейки, чей управляющий байт равен tag; SWAR допускает редкие ложные совпадения, метка перепроверяется
+    int matchTag(byte[] control, int offset, int tag);
+
+    int matchEmpty(byte[] control, int offset);
+
+    int matchEmptyOrDeleted(byte[] control, int offset);
+
+    // -Dcom.example.hash_table.vectorGroups=false оставляет SWAR и при доступном модуле (для сравнения)
+    static GroupMatcher load() {
+        if (Boolean.parseBoolean(System.getProperty("com.example.hash_table.vectorGroups", "true"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (GroupMatcher) Class.forName("com.example.hash_table.VectorGroupMatcher")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Модуль есть, но класс не загрузился - остаётся SWAR
+            }
+        }
+        return new SwarGroupMatcher();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Стратегия хеширования ключей. Таблица берёт младшие биты результата (ёмкость - степень двойки),
+// поэтому хорошая стратегия должна перемешивать старшие биты в младшие.
+public interface HashStrategy<K> {
+    int hash(K key);
+
+    default boolean equals(K a, K b) {
+        return a.equals(b);
+    }
+
+    // hashCode() с подмешиванием старших 16 бит в младшие
+    static <K> HashStrategy<K> defaultStrategy() {
+        return key -> {
+            int h = key.hashCode();
+            return h ^ (h >>> 16);
+        };
+    }
+
+    // Мультипликативное (фибоначчиево) хеширование: умножение на 2^32 / φ
+    static <K> HashStrategy<K> fibonacci() {
+        return key -> {
+            int h = key.hashCode() * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        };
+    }
+
+    // Murmur3 по символам строки, без создания промежуточных массивов
+    static HashStrategy<String> murmur3Strings(int seed) {
+        return key -> Murmur3.hashChars(key, seed);
+    }
+
+    // Murmur3 по содержимому массива; ключи сравниваются поэлементно, а не по ссылке
+    static HashStrategy<byte[]> murmur3Bytes(int seed) {
+        return new HashStrategy<>() {
+            @Override
+            public int hash(byte[] key) {
+                return Murmur3.hashBytes(key, 0, key.length, seed);
+            }
+
+            @Override
+            public boolean equals(byte[] a, byte[] b) {
+                return Arrays.equals(a, b);
+            }
+        };
+    }
+}
@@ -1,199 +1,980 @@
 package com.example.hash_table;
 
-import java.util.ArrayList;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.NoSuchElementException;
 
 public class HashTable<K, V> {
     private static final int INITIAL_CAPACITY = 16;
-    private static final double LOAD_FACTOR = 0.75;
-    private static final int MULTIPLIER = 31;
+    private static final int MAX_CAPACITY = 1 << 30;
+    static final double LOAD_FACTOR = 0.75;
+    // Сколько корзин старой таблицы переносится за одну операцию при постепенной перестройке
+    private static final int MIGRATION_STEP = 8;
+    // Пакетные операции группируют ключи не более чем по 2^BATCH_REGION_BITS участкам таблицы
+    private static final int BATCH_REGION_BITS = 16;
+    // Пакеты меньше этого размера parallelPutAll вставляет последовательно
+    private static final int PARALLEL_BATCH_THRESHOLD = 1 << 14;
+    // Фильтр отрицательных поисков оценивается по окнам из FILTER_WINDOW поисков и отключается,
+    // если отсеял меньше MIN_FILTER_REJECTIONS из них: тогда почти каждый поиск платит и за фильтр, и за таблицу
+    private static final int FILTER_WINDOW = 1 << 16;
+    private static final int MIN_FILTER_REJECTIONS = FILTER_WINDOW / 4;
+    // Фильтр перестраивается, когда удалённых ключей в нём больше, чем живых, но не чаще этого порога
+    private static final int MIN_FILTER_REMOVALS = 1 << 10;
 
-    private List<Node<K, V>>[] table;
-    private int size;
+    private final HashStrategy<? super K> hashStrategy;
+    private final double loadFactor;
+    private CollisionResolution collisionResolution = CollisionResolution.CHAINING;
+    private Storage<K, V> storage;
+
+    // Старая таблица, из которой ещё не перенесены элементы, и номер следующей корзины для переноса.
+    // Каждый ключ находится ровно в одной из двух таблиц.
+    private Storage<K, V> previous;
+    private int migrationIndex;
+    private boolean incrementalResize;
+
+    // null, если статистика выключена
+    private HashTableStatistics statistics;
+
+    // Число структурных изменений (добавление и удаление ключей, перестройка); по нему итераторы и курсоры
+    // обнаруживают изменение таблицы во время обхода
+    private int modCount;
+
+    // Желаемая доля ложных срабатываний фильтра или 0, если фильтр не используется.
+    // Фильтр равен null, пока он не построен или отключён как бесполезный.
+    private double filterFalsePositiveRate;
+    private BlockedBloomFilter membershipFilter;
+    private int filterLookups;
+    private int filterRejections;
+    private int filterRemovals;
+
+    // Последняя опубликованная неизменяемая версия для snapshot(); null, если снимки выключены
+    private volatile PersistentHashTable<K, V> published;
 
     public HashTable() {
-        table = new List[INITIAL_CAPACITY];
-        size = 0;
+        this(HashStrategy.defaultStrategy());
+    }
+
+    public HashTable(HashStrategy<? super K> hashStrategy) {
+        this(0, LOAD_FACTOR, hashStrategy);
+    }
+
+    // Таблица, в которую можно вставить expectedSize элементов без перестроек
+    public HashTable(int expectedSize) {
+        this(expectedSize, LOAD_FACTOR);
+    }
+
+    public HashTable(int expectedSize, double loadFactor) {
+        this(expectedSize, loadFactor, HashStrategy.defaultStrategy());
+    }
+
+    public HashTable(int expectedSize, double loadFactor, HashStrategy<? super K> hashStrategy) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative expected size: " + expectedSize);
+        }
+        // При коэффициенте больше 1 открытая адресация заполнила бы таблицу целиком
+        if (!(loadFactor > 0 && loadFactor <= 1)) {
+            throw new IllegalArgumentException("Load factor must be in (0, 1]: " + loadFactor);
+        }
+        this.hashStrategy = hashStrategy;
+        this.loadFactor = loadFactor;
+        storage = createStorage(collisionResolution, capacityFor(expectedSize, loadFactor));
+    }
+
+    // Таблица на expectedSize элементов, заполняемая через insertNew без перестроек (загрузка снимка)
+    HashTable(HashStrategy<? super K> hashStrategy, CollisionResolution collisionResolution, int expectedSize,
+              double loadFactor) {
+        this.hashStrategy = hashStrategy;
+        this.loadFactor = loadFactor;
+        this.collisionResolution = collisionResolution;
+        storage = createStorage(collisionResolution, capacityFor(expectedSize, loadFactor));
+    }
+
+    // Наименьшая ёмкость (степень двойки), при которой expectedSize элементов не вызывают перестройку
+    static int capacityFor(int expectedSize, double loadFactor) {
+        double needed = Math.ceil(expectedSize / loadFactor) + 1;
+        if (needed >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(INITIAL_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private Storage<K, V> createStorage(CollisionResolution resolution, int capacity) {
+        return attach(switch (resolution) {
+            case CHAINING -> new ChainedStorage<>(capacity, hashStrategy, loadFactor);
+            case OPEN_ADDRESSING -> new OpenAddressingStorage<>(capacity, hashStrategy, loadFactor);
+            case SWISS_TABLE -> new SwissTableStorage<>(capacity, hashStrategy, loadFactor);
+        });
+    }
+
+    private Storage<K, V> attach(Storage<K, V> created) {
+        created.statistics = statistics;
+        return created;
+    }
+
+    public HashStrategy<? super K> getHashStrategy() {
+        return hashStrategy;
+    }
+
+    public double getLoadFactor() {
+        return loadFactor;
     }
 
     public int size() {
-        return size;
+        return previous == null ? storage.size() : storage.size() + previous.size();
     }
 
     public boolean isEmpty() {
-        return size == 0;
+        return size() == 0;
     }
+
+    // Для открытой адресации и SWISS_TABLE возвращается копия: каждая занятая ячейка представлена списком из одного узла
     public List<Node<K, V>>[] getTable() {
-        return table;
+        finishResize();
+        return storage.toBucketArray();
     }
 
     public void clear() {
-        for (int i = 0; i < table.length; i++) {
-            table[i] = null;
+        previous = null;
+        storage.clear();
+        modCount++;
+        if (published != null) {
+            published = PersistentHashTable.empty(hashStrategy);
+        }
+        if (filterFalsePositiveRate > 0) {
+            rebuildFilter();
         }
-        size = 0;
     }
 
     public V get(K key) {
-        int index = hash(key);
-        List<Node<K, V>> chain = table[index];
-        if (chain != null) {
-            for (Node<K, V> node : chain) {
-                if (node.key.equals(key)) {
-                    return node.value;
-                }
+        int hash = hashStrategy.hash(key);
+        V value = null;
+        if (!filteredOut(hash)) {
+            value = storage.get(key, hash);
+            if (value == null && previous != null) {
+                value = previous.get(key, hash);
             }
         }
-        return null;
+        if (previous != null) {
+            migrate(MIGRATION_STEP);
+        }
+        if (statistics != null) {
+            statistics.recordLookup(value != null);
+        }
+        return value;
     }
 
-    public void put(K key, V value) {
-        int index = hash(key);
-        if (collisionResolution == CollisionResolution.CHAINING) {
-            if (table[index] == null) {
-                table[index] = new ArrayList<>();
-            }
+    public boolean containsKey(K key) {
+        int hash = hashStrategy.hash(key);
+        boolean found = false;
+        if (!filteredOut(hash)) {
+            found = storage.containsKey(key, hash) || previous != null && previous.containsKey(key, hash);
+        }
+        if (previous != null) {
+            migrate(MIGRATION_STEP);
+        }
+        return found;
+    }
 
-            for (Node<K, V> node : table[index]) {
-                if (node.key.equals(key)) {
-                    node.value = value;
-                    return;
-                }
+    public V getOrDefault(K key, V defaultValue) {
+        int hash = hashStrategy.hash(key);
+        V value = defaultValue;
+        if (!filteredOut(hash)) {
+            value = storage.getOrDefault(key, hash, defaultValue);
+            if (value == defaultValue && previous != null) {
+                value = previous.getOrDefault(key, hash, defaultValue);
             }
+        }
+        if (previous != null) {
+            migrate(MIGRATION_STEP);
+        }
+        return value;
+    }
 
-            table[index].add(new Node<>(key, value));
-            size++;
+    // Возвращает прежнее значение или null
+    public V put(K key, V value) {
+        int sizeBefore = size();
+        int hash = hashStrategy.hash(key);
+        V old;
+        if (previous != null) {
+            int previousSize = previous.size();
+            V moved = previous.remove(key, hash);
+            old = storage.put(key, hash, value);
+            if (previous.size() != previousSize) {
+                old = moved;
+            }
+            migrate(MIGRATION_STEP);
+        } else {
+            old = storage.put(key, hash, value);
+        }
+        publish(key, hash, value);
+        afterUpdate(sizeBefore, hash);
+        return old;
+    }
 
-            if (size >= LOAD_FACTOR * table.length) {
-                resize();
+    // Возвращает удалённое значение или null
+    public V remove(K key) {
+        int sizeBefore = size();
+        int hash = hashStrategy.hash(key);
+        V old = null;
+        if (!filteredOut(hash)) {
+            old = storage.remove(key, hash);
+            if (previous != null && size() == sizeBefore) {
+                old = previous.remove(key, hash);
             }
-        } else if (collisionResolution == CollisionResolution.OPEN_ADDRESSING) {
-            while (table[index] != null && !table[index].get(0).key.equals(key)) {
-                index = (index + 1) % table.length;
+        }
+        if (previous != null) {
+            migrate(MIGRATION_STEP);
+        }
+        if (size() != sizeBefore) {
+            publishRemoval(key, hash);
+        }
+        afterUpdate(sizeBefore, hash);
+        return old;
+    }
+
+    // Операции ниже, как одноимённые методы Map, находят ключ одним проходом по корзине или пробам
+    // (без пары get + put). Значение null означает отсутствие ключа: если функция вернула null, ключ удаляется.
+    // Функции не должны изменять таблицу.
+
+    // Возвращает прежнее значение; новое записывается, только если ключа не было
+    public V putIfAbsent(K key, V value) {
+        int sizeBefore = size();
+        int hash = hashStrategy.hash(key);
+        pullFromPrevious(key, hash);
+        V old = storage.putIfAbsent(key, hash, value);
+        if (size() != sizeBefore) {
+            publish(key, hash, value);
+        }
+        afterUpdate(sizeBefore, hash);
+        return old;
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        return compute(key, (k, old) -> old != null ? old : mappingFunction.apply(k));
+    }
+
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        return compute(key, (k, old) -> old == null ? null : remappingFunction.apply(k, old));
+    }
+
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        int sizeBefore = size();
+        int hash = hashStrategy.hash(key);
+        pullFromPrevious(key, hash);
+        V value = storage.compute(key, hash, remappingFunction);
+        if (value != null) {
+            publish(key, hash, value);
+        } else if (size() != sizeBefore) {
+            publishRemoval(key, hash);
+        }
+        afterUpdate(sizeBefore, hash);
+        return value;
+    }
+
+    // Если ключа нет, записывается value, иначе результат remappingFunction(прежнее значение, value)
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        return compute(key, (k, old) -> old == null ? value : remappingFunction.apply(old, value));
+    }
+
+    // Во время постепенной перестройки ключ сначала переносится из старого хранилища в новое,
+    // чтобы операция затронула только одно хранилище
+    private void pullFromPrevious(K key, int hash) {
+        if (previous != null) {
+            int previousSize = previous.size();
+            V value = previous.remove(key, hash);
+            if (previous.size() != previousSize) {
+                storage.insertNew(key, hash, value);
             }
+            migrate(MIGRATION_STEP);
+        }
+    }
 
-            if (table[index] == null) {
-                table[index] = new ArrayList<>();
+    private void afterUpdate(int sizeBefore, int hash) {
+        int size = size();
+        if (size != sizeBefore) {
+            modCount++;
+            if (membershipFilter != null) {
+                if (size > sizeBefore) {
+                    membershipFilter.add(hash);
+                } else if (++filterRemovals > Math.max(MIN_FILTER_REMOVALS, size)) {
+                    rebuildFilter();
+                }
             }
+        }
+        if (storage.needsResize()) {
+            resize();
+        }
+    }
 
-            table[index].add(new Node<>(key, value));
-            size++;
+    // Пакетная вставка: таблица расширяется один раз под весь пакет, хеши вычисляются заранее,
+    // а элементы вставляются в порядке номеров корзин, так что обращения к памяти идут по возрастанию адресов.
+    // При повторе ключа в пакете остаётся последнее значение, как при последовательных put.
+    public void putAll(Map<? extends K, ? extends V> map) {
+        Object[] keys = new Object[map.size()];
+        Object[] values = new Object[map.size()];
+        int i = 0;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i++] = entry.getValue();
+        }
+        putBatch(keys, values);
+    }
 
-            if (size >= LOAD_FACTOR * table.length) {
-                resize();
+    public void putAll(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values differ in length: " + keys.length + " and " + values.length);
+        }
+        putBatch(keys, values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void putBatch(Object[] keys, Object[] values) {
+        ensureBatchCapacity(keys.length);
+        modCount++;
+        int[] hashes = new int[keys.length];
+        for (int i : bucketOrder(keys, hashes)) {
+            storage.put((K) keys[i], hashes[i], (V) values[i]);
+        }
+        if (membershipFilter != null) {
+            for (int hash : hashes) {
+                membershipFilter.add(hash);
             }
         }
+        // Пакет публикуется одной версией: читатели видят его целиком или не видят вовсе
+        PersistentHashTable<K, V> version = published;
+        if (version != null) {
+            for (int i = 0; i < keys.length; i++) {
+                version = version.put((K) keys[i], hashes[i], (V) values[i]);
+            }
+            published = version;
+        }
+        if (storage.needsResize()) {
+            resize();
+        }
     }
 
-    public void remove(K key) {
-        int index = hash(key);
-        if (collisionResolution == CollisionResolution.CHAINING) {
-            List<Node<K, V>> chain = table[index];
-            if (chain != null) {
-                Iterator<Node<K, V>> iterator = chain.iterator();
-                while (iterator.hasNext()) {
-                    Node<K, V> node = iterator.next();
-                    if (node.key.equals(key)) {
-                        iterator.remove();
-                        size--;
-                        return;
-                    }
-                }
+    // Расширяет таблицу заранее, чтобы до expectedSize элементов вставлялись без перестроек
+    public void ensureCapacity(int expectedSize) {
+        finishResize();
+        if (expectedSize > storage.size()) {
+            ensureBatchCapacity(expectedSize - storage.size());
+        }
+    }
+
+    // Перестройка один раз под весь пакет, чтобы вставка пакета не вызывала перестроек
+    private void ensureBatchCapacity(int batchSize) {
+        finishResize();
+        if (storage.size() + storage.tombstones() + batchSize >= loadFactor * storage.capacity()) {
+            migrateTo(createStorage(collisionResolution, capacityFor(storage.size() + batchSize, loadFactor)));
+            finishResize();
+        }
+    }
+
+    // Параллельная пакетная вставка в общем пуле fork-join: пакет делится по участкам таблицы
+    // (непересекающимся диапазонам корзин), и каждый участок заполняется своей задачей без блокировок.
+    // Ключи, которым при открытой адресации не хватило места в своём участке, затем вставляются последовательно.
+    // Во время вызова таблицу нельзя использовать из других потоков.
+    public void parallelPutAll(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values differ in length: " + keys.length + " and " + values.length);
+        }
+        if (keys.length < PARALLEL_BATCH_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            putBatch(keys, values);
+            return;
+        }
+        ensureBatchCapacity(keys.length);
+        modCount++;
+        // Запись статистики не рассчитана на несколько потоков
+        storage.statistics = null;
+        try {
+            for (int i : ParallelBulk.putAll(storage, keys, values)) {
+                storage.put(keys[i], values[i]);
             }
-        } else if (collisionResolution == CollisionResolution.OPEN_ADDRESSING) {
-            while (table[index] != null && !table[index].get(0).key.equals(key)) {
-                index = (index + 1) % table.length;
+        } finally {
+            storage.statistics = statistics;
+        }
+        // Хеши вычислялись внутри задач; сохранённые в хранилище хеши дают фильтр за один проход
+        if (membershipFilter != null) {
+            rebuildFilter();
+        }
+        PersistentHashTable<K, V> version = published;
+        if (version != null) {
+            for (int i = 0; i < keys.length; i++) {
+                version = version.put(keys[i], values[i]);
             }
-            if (table[index] != null && table[index].get(0).key.equals(key)) {
-                table[index] = null;
-                size--;
+            published = version;
+        }
+        if (storage.needsResize()) {
+            resize();
+        }
+    }
+
+    // Параллельный обход в общем пуле fork-join; диапазоны корзин с оценкой числа элементов
+    // не больше parallelismThreshold обходятся одной задачей (как в ConcurrentHashMap.forEach)
+    public void forEach(long parallelismThreshold, BiConsumer<? super K, ? super V> action) {
+        ParallelBulk.forEach(settledStorage(), parallelismThreshold, action);
+    }
+
+    // Параллельная свёртка: transformer применяется к каждому элементу, ненулевые результаты
+    // объединяются reducer; для пустой таблицы возвращает null
+    public <U> U reduce(long parallelismThreshold, BiFunction<? super K, ? super V, ? extends U> transformer,
+                        BiFunction<? super U, ? super U, ? extends U> reducer) {
+        return ParallelBulk.reduce(settledStorage(), parallelismThreshold, transformer, reducer);
+    }
+
+    // Пакетный поиск в порядке корзин; out[i] - значение для keys[i] или null. Возвращает число найденных ключей
+    public int getAll(K[] keys, V[] out) {
+        if (out.length < keys.length) {
+            throw new IllegalArgumentException("Output array is shorter than keys: " + out.length + " < " + keys.length);
+        }
+        finishResize();
+        int[] hashes = new int[keys.length];
+        int found = 0;
+        for (int i : bucketOrder(keys, hashes)) {
+            V value = filteredOut(hashes[i]) ? null : storage.get(keys[i], hashes[i]);
+            out[i] = value;
+            if (value != null) {
+                found++;
+            }
+            if (statistics != null) {
+                statistics.recordLookup(value != null);
             }
         }
+        return found;
+    }
+
+    // Заполняет hashes и возвращает номера элементов, сгруппированные по участкам таблицы из соседних корзин
+    // (внутри участка - в исходном порядке). Группировка - один проход сортировки подсчётом.
+    @SuppressWarnings("unchecked")
+    private int[] bucketOrder(Object[] keys, int[] hashes) {
+        int bits = Integer.numberOfTrailingZeros(storage.capacity());
+        int shift = Math.max(0, bits - BATCH_REGION_BITS);
+        int[] starts = new int[(1 << (bits - shift)) + 1];
+        for (int i = 0; i < keys.length; i++) {
+            int hash = hashStrategy.hash((K) keys[i]);
+            hashes[i] = hash;
+            starts[(storage.indexFor(hash) >>> shift) + 1]++;
+        }
+        for (int region = 1; region < starts.length; region++) {
+            starts[region] += starts[region - 1];
+        }
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[starts[storage.indexFor(hashes[i]) >>> shift]++] = i;
+        }
+        return order;
+    }
+
+    // Вставка ключа, которого заведомо нет в таблице; ёмкость должна быть подобрана заранее
+    void insertNew(K key, V value) {
+        int hash = hashStrategy.hash(key);
+        storage.insertNew(key, hash, value);
+        if (membershipFilter != null) {
+            membershipFilter.add(hash);
+        }
+        publish(key, hash, value);
     }
 
     public void printTable() {
-        for (int i = 0; i < table.length; i++) {
+        finishResize();
+        for (int i = 0; i < storage.capacity(); i++) {
             System.out.print("[" + i + "]: ");
-            if (table[i] != null) {
-                for (Node<K, V> node : table[i]) {
-                    System.out.print("(" + node.key + ", " + node.value + ") ");
-                }
-            }
+            storage.forEachInBucket(i, (key, value) -> System.out.print("(" + key + ", " + value + ") "));
             System.out.println();
         }
     }
     public String getTableAsString() {
+        finishResize();
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < table.length; i++) {
+        for (int i = 0; i < storage.capacity(); i++) {
             sb.append("[").append(i).append("]: ");
-            if (table[i] != null) {
-                for (Node<K, V> node : table[i]) {
-                    sb.append("(").append(node.key).append(", ").append(node.value).append(") ");
-                }
-            }
+            appendBucket(sb, i);
             sb.append("\n");
         }
         return sb.toString();
     }
+
+    // Содержимое одной корзины в формате getTableAsString(), без номера корзины
+    public String getBucketAsString(int index) {
+        finishResize();
+        StringBuilder sb = new StringBuilder();
+        appendBucket(sb, index);
+        return sb.toString();
+    }
+
+    private void appendBucket(StringBuilder sb, int index) {
+        storage.forEachInBucket(index, (key, value) -> sb.append("(").append(key).append(", ").append(value).append(") "));
+    }
+
+    // Число элементов в каждом из regions равных участков таблицы (для карты заполнения)
+    public int[] getOccupancy(int regions) {
+        Storage<K, V> settled = settledStorage();
+        int capacity = settled.capacity();
+        regions = Math.min(regions, capacity);
+        int[] occupancy = new int[regions];
+        for (int region = 0; region < regions; region++) {
+            occupancy[region] = settled.count((int) ((long) capacity * region / regions),
+                    (int) ((long) capacity * (region + 1) / regions));
+        }
+        return occupancy;
+    }
     public int getTableSize() {
-        return table.length;
+        return storage.capacity();
     }
 
     public int getElementCount() {
-        return size;
+        return size();
     }
 
     public V search(K key) {
-        int index = hash(key);
-        List<Node<K, V>> chain = table[index];
-        if (chain != null) {
-            for (Node<K, V> node : chain) {
-                if (node.key.equals(key)) {
-                    return node.value;
-                }
-            }
-        }
-        return null;
+        return get(key);
     }
 
     public int hash(K key) {
-        int hash = 0;
-        for (int i = 0; i < key.toString().length(); i++) {
-            hash = (MULTIPLIER * hash + key.toString().charAt(i)) % table.length;
-        }
-        return hash;
+        return storage.indexFor(key);
     }
 
     private void resize() {
-        List<Node<K, V>>[] oldTable = table;
-        table = new List[2 * oldTable.length];
-        size = 0;
-
-        for (List<Node<K, V>> chain : oldTable) {
-            if (chain != null) {
-                for (Node<K, V> node : chain) {
-                    put(node.key, node.value);
-                }
-            }
+        finishResize();
+        long startTime = statistics == null ? 0 : System.nanoTime();
+        migrateTo(attach(storage.createResized()));
+        if (statistics != null) {
+            statistics.recordResize(System.nanoTime() - startTime);
+        }
+    }
+
+    // Все элементы переносятся в target за один линейный проход по корзинам (или постепенно),
+    // без повторной проверки ключей, как при обычном put
+    private void migrateTo(Storage<K, V> target) {
+        modCount++;
+        previous = storage;
+        storage = target;
+        migrationIndex = 0;
+        // Фильтр строится заново под ёмкость новой таблицы; отключённый как бесполезный получает ещё одну попытку
+        if (filterFalsePositiveRate > 0) {
+            rebuildFilter();
+        }
+        if (incrementalResize) {
+            migrate(MIGRATION_STEP);
+        } else {
+            finishResize();
+        }
+    }
+
+    // Постепенная перестройка (в том числе при смене способа разрешения коллизий): вместо переноса всех
+    // элементов за один вызов старая и новая таблицы хранятся одновременно,
+    // а каждая операция переносит не более MIGRATION_STEP корзин
+    public void setIncrementalResize(boolean incrementalResize) {
+        this.incrementalResize = incrementalResize;
+        if (!incrementalResize) {
+            finishResize();
+        }
+    }
+
+    public boolean isIncrementalResize() {
+        return incrementalResize;
+    }
+
+    public boolean isResizing() {
+        return previous != null;
+    }
+
+    // Переносит не более maxBuckets корзин; возвращает true, если перестройка завершена.
+    // Позволяет доделать перестройку в периоды простоя, не дожидаясь следующих операций.
+    public boolean migrate(int maxBuckets) {
+        if (previous == null) {
+            return true;
+        }
+        int end = Math.min(previous.capacity(), migrationIndex + maxBuckets);
+        for (; migrationIndex < end; migrationIndex++) {
+            previous.transferBucket(migrationIndex, storage);
+        }
+        if (migrationIndex == previous.capacity()) {
+            previous = null;
+            return true;
+        }
+        return false;
+    }
+
+    public void finishResize() {
+        if (previous != null) {
+            migrate(previous.capacity());
         }
     }
     public enum CollisionResolution {
         CHAINING,
-        OPEN_ADDRESSING
+        OPEN_ADDRESSING,
+        // Управляющие байты с метками хешей и поиск группами; выдерживает коэффициент заполнения около 0.875
+        SWISS_TABLE
     }
 
-    private CollisionResolution collisionResolution = CollisionResolution.CHAINING;
-
     public void setCollisionResolution(CollisionResolution resolution) {
-        this.collisionResolution = resolution;
+        if (resolution == collisionResolution) {
+            return;
+        }
+        finishResize();
+        collisionResolution = resolution;
+        migrateTo(createStorage(resolution, storage.capacity()));
     }
 
     public CollisionResolution getCollisionResolution() {
         return collisionResolution;
     }
 
+    // Сбор статистики (длины проб и цепочек, попадания и промахи, перестройки). По умолчанию выключен;
+    // выключенная статистика стоит одной проверки на null в каждой операции.
+    public void setStatisticsEnabled(boolean enabled) {
+        if (enabled == (statistics != null)) {
+            return;
+        }
+        statistics = enabled ? new HashTableStatistics() : null;
+        storage.statistics = statistics;
+        if (previous != null) {
+            previous.statistics = statistics;
+        }
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    // Фильтр Блума перед таблицей: поиск ключа, которого нет, в большинстве случаев заканчивается
+    // одним обращением к блоку фильтра, не затрагивая корзины и пробы. falsePositiveRate - желаемая доля
+    // ложных срабатываний (например, 0.01 - около 10 бит на ключ); 0 выключает фильтр.
+    // Фильтр отключается сам, если отсеивает меньше четверти поисков, и пробует снова при перестройке таблицы.
+    public void setMembershipFilter(double falsePositiveRate) {
+        if (falsePositiveRate != 0 && !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        filterFalsePositiveRate = falsePositiveRate;
+        membershipFilter = null;
+        if (falsePositiveRate > 0) {
+            rebuildFilter();
+        }
+    }
+
+    public double getMembershipFilterFalsePositiveRate() {
+        return filterFalsePositiveRate;
+    }
+
+    // true, если фильтр включён и не отключён как бесполезный
+    public boolean isMembershipFilterActive() {
+        return membershipFilter != null;
+    }
+
+    // Память фильтра в байтах или 0, если фильтра нет
+    public long getMembershipFilterBytes() {
+        return membershipFilter == null ? 0 : membershipFilter.memoryBytes();
+    }
+
+    // true, если ключа с таким хешем заведомо нет в таблице
+    private boolean filteredOut(int hash) {
+        if (membershipFilter == null) {
+            return false;
+        }
+        boolean rejected = !membershipFilter.mightContain(hash);
+        if (rejected) {
+            filterRejections++;
+        }
+        if (++filterLookups == FILTER_WINDOW) {
+            if (filterRejections < MIN_FILTER_REJECTIONS) {
+                membershipFilter = null;
+            }
+            filterLookups = 0;
+            filterRejections = 0;
+        }
+        return rejected;
+    }
+
+    // Фильтр по сохранённым хешам обоих хранилищ, с запасом до порога перестройки новой таблицы
+    private void rebuildFilter() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(
+                Math.max(size(), (int) (loadFactor * storage.capacity())), filterFalsePositiveRate);
+        addHashes(filter, storage);
+        if (previous != null) {
+            addHashes(filter, previous);
+        }
+        membershipFilter = filter;
+        filterLookups = 0;
+        filterRejections = 0;
+        filterRemovals = 0;
+    }
+
+    private static void addHashes(BlockedBloomFilter filter, Storage<?, ?> source) {
+        Storage.Cursor<?, ?> cursor = source.cursor();
+        while (cursor.advance()) {
+            filter.add(cursor.hash());
+        }
+    }
+
+    // Снимки для читателей из других потоков. Пока снимки включены, каждое изменение таблицы публикуется
+    // новой версией PersistentHashTable (копирование пути в дереве, O(log32 n) на изменение),
+    // и snapshot() за O(1) возвращает последнюю версию: читатели не блокируются и не видят незавершённую
+    // перестройку. Изменять таблицу и включать снимки должен один поток-писатель; snapshot() - из любого потока.
+    public void setSnapshotsEnabled(boolean enabled) {
+        if (enabled == (published != null)) {
+            return;
+        }
+        PersistentHashTable<K, V> version = null;
+        if (enabled) {
+            version = PersistentHashTable.empty(hashStrategy);
+            for (Storage<K, V> source : previous == null ? List.of(storage) : List.of(storage, previous)) {
+                Storage.Cursor<K, V> cursor = source.cursor();
+                while (cursor.advance()) {
+                    version = version.put(cursor.key(), cursor.hash(), cursor.value());
+                }
+            }
+        }
+        published = version;
+    }
+
+    public boolean isSnapshotsEnabled() {
+        return published != null;
+    }
+
+    public PersistentHashTable<K, V> snapshot() {
+        PersistentHashTable<K, V> version = published;
+        if (version == null) {
+            throw new IllegalStateException("Snapshots are disabled");
+        }
+        return version;
+    }
+
+    private void publish(K key, int hash, V value) {
+        PersistentHashTable<K, V> version = published;
+        if (version != null) {
+            published = version.put(key, hash, value);
+        }
+    }
+
+    private void publishRemoval(K key, int hash) {
+        PersistentHashTable<K, V> version = published;
+        if (version != null) {
+            published = version.remove(key, hash);
+        }
+    }
+
+    public HashTableStats getStatistics() {
+        HashTableStatistics current = statistics;
+        if (current == null) {
+            throw new IllegalStateException("Statistics are disabled");
+        }
+        return statisticsSnapshot(current);
+    }
+
+    // Поля читаются по одному разу: во время миграции previous может обнулиться между двумя чтениями
+    private HashTableStats statisticsSnapshot(HashTableStatistics current) {
+        Storage<K, V> target = storage;
+        Storage<K, V> source = previous;
+        int size = target.size() + (source == null ? 0 : source.size());
+        int tombstones = target.tombstones() + (source == null ? 0 : source.tombstones());
+        return new HashTableStats(collisionResolution, size, target.capacity(), tombstones, current);
+    }
+
+    // Регистрирует статистику в платформенном MBean-сервере; каждое чтение атрибута строит свежий снимок.
+    // JMX читает атрибуты из своего потока без синхронизации с владельцем таблицы, поэтому значения
+    // приблизительные: счётчики могут отставать и не согласованы между собой. Если статистику выключили
+    // или чтение попало на перестройку, возвращается последний удавшийся снимок.
+    public ObjectName registerMBean(String name) throws JMException {
+        setStatisticsEnabled(true);
+        AtomicReference<HashTableStats> lastSnapshot = new AtomicReference<>(getStatistics());
+        HashTableStatsMXBean live = (HashTableStatsMXBean) Proxy.newProxyInstance(
+                HashTableStatsMXBean.class.getClassLoader(),
+                new Class<?>[]{HashTableStatsMXBean.class},
+                (proxy, method, args) -> method.invoke(scrapeStatistics(lastSnapshot), args));
+        ObjectName objectName = new ObjectName("com.example.hash_table:type=HashTable,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(new StandardMBean(live, HashTableStatsMXBean.class, true), objectName);
+        return objectName;
+    }
+
+    private HashTableStats scrapeStatistics(AtomicReference<HashTableStats> lastSnapshot) {
+        HashTableStatistics current = statistics;
+        if (current == null) {
+            return lastSnapshot.get();
+        }
+        try {
+            HashTableStats snapshot = statisticsSnapshot(current);
+            lastSnapshot.set(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            // Гонка с потоком-владельцем (например, ещё не видно массив новой таблицы)
+            return lastSnapshot.get();
+        }
+    }
+
+    // Курсор для обхода без создания объектов на каждый элемент: key() и value() относятся к элементу,
+    // на который курсор перешёл последним успешным advance(). Если таблица структурно изменилась
+    // после создания курсора, любой метод курсора бросает ConcurrentModificationException.
+    public Cursor<K, V> cursor() {
+        Storage.Cursor<K, V> cursor = settledStorage().cursor();
+        int expectedModCount = modCount;
+        return new Cursor<>() {
+            private void checkForComodification() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+
+            @Override
+            public boolean advance() {
+                checkForComodification();
+                return cursor.advance();
+            }
+
+            @Override
+            public K key() {
+                checkForComodification();
+                return cursor.key();
+            }
+
+            @Override
+            public V value() {
+                checkForComodification();
+                return cursor.value();
+            }
+        };
+    }
+
+    int modCount() {
+        return modCount;
+    }
+
+    // Хранилище после завершения перестройки, содержащее все элементы
+    Storage<K, V> settledStorage() {
+        finishResize();
+        return storage;
+    }
+
+    // Представления только для чтения. Их spliterator делит таблицу по диапазонам корзин,
+    // поэтому parallelStream() обрабатывает части таблицы в разных потоках
+    public Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new CursorIterator<>((key, value) -> key);
+            }
+
+            @Override
+            public Spliterator<K> spliterator() {
+                return new HashTableSpliterator<>(HashTable.this, (key, value) -> key, Spliterator.DISTINCT);
+            }
+
+            @Override
+            public int size() {
+                return HashTable.this.size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                return containsKey((K) o);
+            }
+        };
+    }
+
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new CursorIterator<>((key, value) -> value);
+            }
+
+            @Override
+            public Spliterator<V> spliterator() {
+                return new HashTableSpliterator<>(HashTable.this, (key, value) -> value, 0);
+            }
+
+            @Override
+            public int size() {
+                return HashTable.this.size();
+            }
+        };
+    }
+
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new CursorIterator<>(AbstractMap.SimpleImmutableEntry::new);
+            }
+
+            @Override
+            public Spliterator<Map.Entry<K, V>> spliterator() {
+                return new HashTableSpliterator<>(HashTable.this, AbstractMap.SimpleImmutableEntry::new, Spliterator.DISTINCT);
+            }
+
+            @Override
+            public int size() {
+                return HashTable.this.size();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry<?, ?> entry)) {
+                    return false;
+                }
+                K key = (K) entry.getKey();
+                return containsKey(key) && Objects.equals(get(key), entry.getValue());
+            }
+        };
+    }
+
+    // Итератор представлений поверх курсора; элемент строится из ключа и значения функцией mapper
+    private final class CursorIterator<T> implements Iterator<T> {
+        private final Cursor<K, V> cursor = cursor();
+        private final BiFunction<? super K, ? super V, ? extends T> mapper;
+        private boolean advanced;
+        private boolean hasNext;
+
+        CursorIterator(BiFunction<? super K, ? super V, ? extends T> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!advanced) {
+                hasNext = cursor.advance();
+                advanced = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            return mapper.apply(cursor.key(), cursor.value());
+        }
+    }
+
     public Iterator<V> begin() {
         return new HashTableIterator<>(this);
     }
@@ -212,14 +993,29 @@ public class HashTable<K, V> {
         };
     }
 
+    public interface Cursor<K, V> {
+        boolean advance();
+
+        K key();
+
+        V value();
+    }
+
     public static class Node<K, V> {
-        private K key;
-        private V value;
+        K key;
+        V value;
+        // Полный хеш ключа по стратегии таблицы: сравнение ключей только при совпадении хешей, перенос без пересчёта
+        int hash;
 
         public Node(K key, V value) {
             this.key = key;
             this.value = value;
         }
+
+        Node(K key, V value, int hash) {
+            this(key, value);
+            this.hash = hash;
+        }
         public K getKey() {
             return key;
         }
@@ -5,28 +5,24 @@ import java.util.NoSuchElementException;
 
 public class HashTableIterator<K, V> implements Iterator<V> {
     private final HashTable<K, V> hashTable;
+    private final HashTable.Cursor<K, V> cursor;
     private int currentIndex;
-    private Iterator<HashTable.Node<K, V>> currentChainIterator;
+    private boolean advanced;
+    private boolean hasNext;
 
     public HashTableIterator(HashTable<K, V> hashTable) {
         this.hashTable = hashTable;
+        this.cursor = hashTable.cursor();
         this.currentIndex = -1;
-        this.currentChainIterator = null;
     }
 
     @Override
     public boolean hasNext() {
-        if (currentChainIterator != null && currentChainIterator.hasNext()) {
-            return true;
+        if (!advanced) {
+            hasNext = cursor.advance();
+            advanced = true;
         }
-
-        for (int i = currentIndex + 1; i < hashTable.getTable().length; i++) {
-            if (hashTable.getTable()[i] != null && !hashTable.getTable()[i].isEmpty()) {
-                return true;
-            }
-        }
-
-        return false;
+        return hasNext;
     }
 
     @Override
@@ -35,12 +31,9 @@ public class HashTableIterator<K, V> implements Iterator<V> {
             throw new NoSuchElementException("No more elements in the hash table");
         }
 
-        if (currentChainIterator == null || !currentChainIterator.hasNext()) {
-            while (hashTable.getTable()[++currentIndex] == null || hashTable.getTable()[currentIndex].isEmpty()) ;
-            currentChainIterator = hashTable.getTable()[currentIndex].iterator();
-        }
-
-        return currentChainIterator.next().getValue();
+        advanced = false;
+        currentIndex++;
+        return cursor.value();
     }
 
     @Override
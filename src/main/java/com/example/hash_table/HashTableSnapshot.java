@@ -0,0 +1,164 @@
+package com.example.hash_table;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// Сохранение таблицы в двоичный файл и быстрая загрузка через отображение файла в память.
+// Формат: заголовок HEADER_SIZE байт [магическое число, версия, способ разрешения коллизий, резерв,
+// число элементов, длина данных, CRC32 данных, коэффициент заполнения], затем элементы подряд:
+// [длина ключа, ключ, длина значения (-1 для null), значение].
+// Загрузка - один проход по отображению: ёмкость таблицы известна заранее, элементы вставляются
+// без сравнения ключей и без перестроек. Таблица восстанавливается с тем же коэффициентом заполнения,
+// а значит и с той же ёмкостью.
+public final class HashTableSnapshot {
+    static final int MAGIC = 0x4854534E; // "HTSN"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 48;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private HashTableSnapshot() {
+    }
+
+    // Файл пишется во временный рядом с целевым и затем атомарно переименовывается,
+    // так что при сбое остаётся прежний снимок
+    public static <K, V> void save(HashTable<K, V> table, Path path, Codec<? super K> keyCodec,
+                                   Codec<? super V> valueCodec) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output output = new Output(channel);
+            long count = 0;
+            HashTable.Cursor<K, V> cursor = table.cursor();
+            while (cursor.advance()) {
+                output.writeBytes(keyCodec.encode(cursor.key()));
+                V value = cursor.value();
+                output.writeBytes(value == null ? null : valueCodec.encode(value));
+                count++;
+            }
+            output.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(table.getCollisionResolution().ordinal()).putInt(0);
+            header.putLong(count).putLong(output.length).putLong(output.checksum.getValue());
+            header.putDouble(table.getLoadFactor());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static <K, V> HashTable<K, V> load(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        return load(path, HashStrategy.defaultStrategy(), keyCodec, valueCodec);
+    }
+
+    public static <K, V> HashTable<K, V> load(Path path, HashStrategy<? super K> strategy, Codec<K> keyCodec,
+                                              Codec<V> valueCodec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Not a hash table snapshot: " + path);
+            }
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a hash table snapshot: " + path);
+            }
+            int version = mapped.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+            int resolution = mapped.getInt(8);
+            long count = mapped.getLong(16);
+            long length = mapped.getLong(24);
+            double loadFactor = mapped.getDouble(40);
+            if (resolution < 0 || resolution >= HashTable.CollisionResolution.values().length
+                    || count < 0 || count > Integer.MAX_VALUE || length != fileSize - HEADER_SIZE
+                    || !(loadFactor > 0 && loadFactor <= 1)) {
+                throw new IOException("Corrupted snapshot header: " + path);
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(mapped.slice(HEADER_SIZE, (int) length));
+            if (checksum.getValue() != mapped.getLong(32)) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+
+            HashTable<K, V> table = new HashTable<>(strategy, HashTable.CollisionResolution.values()[resolution],
+                    (int) count, loadFactor);
+            int position = HEADER_SIZE;
+            for (long i = 0; i < count; i++) {
+                int keyLength = mapped.getInt(position);
+                K key = keyCodec.decode(mapped, position + 4, keyLength);
+                position += 4 + keyLength;
+                int valueLength = mapped.getInt(position);
+                position += 4;
+                V value = null;
+                if (valueLength >= 0) {
+                    value = valueCodec.decode(mapped, position, valueLength);
+                    position += valueLength;
+                }
+                table.insertNew(key, value);
+            }
+            return table;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupted snapshot: " + path, e);
+        }
+    }
+
+    // Буферизованная запись в канал с подсчётом длины и контрольной суммы
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32 checksum = new CRC32();
+        private long length;
+
+        Output(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+        }
+
+        void writeBytes(byte[] bytes) throws IOException {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            buffer.putInt(bytes == null ? -1 : bytes.length);
+            if (bytes == null) {
+                return;
+            }
+            if (bytes.length > buffer.remaining()) {
+                flush();
+                if (bytes.length > buffer.remaining()) {
+                    write(ByteBuffer.wrap(bytes));
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        private void write(ByteBuffer data) throws IOException {
+            checksum.update(data.duplicate());
+            length += data.remaining();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hash_table;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// Spliterator по диапазону корзин [from, to). Делится пополам по номерам корзин; число элементов
+// в отделяемой половине подсчитывается при делении, так что размер каждой части точный (SIZED и SUBSIZED).
+// Привязывается к таблице при первом использовании; структурное изменение таблицы после привязки
+// приводит к ConcurrentModificationException.
+class HashTableSpliterator<K, V, T> implements Spliterator<T> {
+    private final HashTable<K, V> table;
+    private final BiFunction<? super K, ? super V, ? extends T> mapper;
+    private final int characteristics;
+    private Storage<K, V> storage;
+    private int from;
+    private int to;
+    private int size;
+    private int expectedModCount;
+    private Storage.Cursor<K, V> cursor;
+
+    HashTableSpliterator(HashTable<K, V> table, BiFunction<? super K, ? super V, ? extends T> mapper,
+                         int characteristics) {
+        this.table = table;
+        this.mapper = mapper;
+        this.characteristics = characteristics | SIZED | SUBSIZED;
+    }
+
+    private HashTableSpliterator(HashTableSpliterator<K, V, T> parent, int from, int to, int size) {
+        this.table = parent.table;
+        this.mapper = parent.mapper;
+        this.characteristics = parent.characteristics;
+        this.storage = parent.storage;
+        this.from = from;
+        this.to = to;
+        this.size = size;
+        this.expectedModCount = parent.expectedModCount;
+    }
+
+    private void bind() {
+        if (storage == null) {
+            storage = table.settledStorage();
+            to = storage.capacity();
+            size = storage.size();
+            expectedModCount = table.modCount();
+        }
+    }
+
+    private void checkForComodification() {
+        if (table.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        bind();
+        checkForComodification();
+        if (cursor == null) {
+            cursor = storage.cursor(from, to);
+        }
+        if (!cursor.advance()) {
+            return false;
+        }
+        size--;
+        action.accept(mapper.apply(cursor.key(), cursor.value()));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        bind();
+        if (cursor == null) {
+            cursor = storage.cursor(from, to);
+        }
+        while (cursor.advance()) {
+            action.accept(mapper.apply(cursor.key(), cursor.value()));
+        }
+        size = 0;
+        checkForComodification();
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        bind();
+        if (cursor != null || to - from < 2 || size < 2) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        int prefixSize = storage.count(from, mid);
+        HashTableSpliterator<K, V, T> prefix = new HashTableSpliterator<>(this, from, mid, prefixSize);
+        from = mid;
+        size -= prefixSize;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        bind();
+        return size;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
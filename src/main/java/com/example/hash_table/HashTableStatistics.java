@@ -0,0 +1,54 @@
+package com.example.hash_table;
+
+// Счётчики, которые собирает таблица при включённой статистике.
+// Когда статистика выключена, объекта нет и операции таблицы проверяют только ссылку на null.
+// Поля обычные, не volatile: пишет только поток-владелец таблицы, а MBean читает их без синхронизации.
+final class HashTableStatistics {
+    // Последний элемент гистограммы учитывает все длины, начиная с HISTOGRAM_SIZE - 1
+    static final int HISTOGRAM_SIZE = 33;
+
+    final long[] probeLengths = new long[HISTOGRAM_SIZE];
+    final long[] chainLengths = new long[HISTOGRAM_SIZE];
+    long hits;
+    long misses;
+    long treeLookups;
+    long resizes;
+    long totalResizeNanos;
+    long maxResizeNanos;
+    int maxBucketOccupancy;
+
+    // Число ячеек, просмотренных при открытой адресации
+    void recordProbe(int length) {
+        probeLengths[Math.min(length, HISTOGRAM_SIZE - 1)]++;
+    }
+
+    // Число узлов цепочки, просмотренных при методе цепочек
+    void recordChain(int length) {
+        chainLengths[Math.min(length, HISTOGRAM_SIZE - 1)]++;
+    }
+
+    void recordTreeLookup() {
+        treeLookups++;
+    }
+
+    void recordLookup(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    // Длина цепочки или серии проб после вставки
+    void recordOccupancy(int occupancy) {
+        if (occupancy > maxBucketOccupancy) {
+            maxBucketOccupancy = occupancy;
+        }
+    }
+
+    void recordResize(long nanos) {
+        resizes++;
+        totalResizeNanos += nanos;
+        maxResizeNanos = Math.max(maxResizeNanos, nanos);
+    }
+}
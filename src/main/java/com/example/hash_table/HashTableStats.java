@@ -0,0 +1,165 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Неизменяемый снимок статистики хеш-таблицы
+public final class HashTableStats implements HashTableStatsMXBean {
+    private final HashTable.CollisionResolution collisionResolution;
+    private final int size;
+    private final int capacity;
+    private final int tombstones;
+    private final long hits;
+    private final long misses;
+    private final long treeLookups;
+    private final long resizes;
+    private final long totalResizeNanos;
+    private final long maxResizeNanos;
+    private final int maxBucketOccupancy;
+    private final long[] probeLengths;
+    private final long[] chainLengths;
+
+    HashTableStats(HashTable.CollisionResolution collisionResolution, int size, int capacity, int tombstones,
+                   HashTableStatistics statistics) {
+        this.collisionResolution = collisionResolution;
+        this.size = size;
+        this.capacity = capacity;
+        this.tombstones = tombstones;
+        this.hits = statistics.hits;
+        this.misses = statistics.misses;
+        this.treeLookups = statistics.treeLookups;
+        this.resizes = statistics.resizes;
+        this.totalResizeNanos = statistics.totalResizeNanos;
+        this.maxResizeNanos = statistics.maxResizeNanos;
+        this.maxBucketOccupancy = statistics.maxBucketOccupancy;
+        this.probeLengths = statistics.probeLengths.clone();
+        this.chainLengths = statistics.chainLengths.clone();
+    }
+
+    @Override
+    public String getCollisionResolution() {
+        return collisionResolution.name();
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public double getLoadFactor() {
+        return (double) size / capacity;
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public long getTreeLookups() {
+        return treeLookups;
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizes;
+    }
+
+    @Override
+    public double getTotalResizeMillis() {
+        return totalResizeNanos / 1e6;
+    }
+
+    @Override
+    public double getMaxResizeMillis() {
+        return maxResizeNanos / 1e6;
+    }
+
+    @Override
+    public int getTombstones() {
+        return tombstones;
+    }
+
+    @Override
+    public double getTombstoneRatio() {
+        return (double) tombstones / capacity;
+    }
+
+    @Override
+    public int getMaxBucketOccupancy() {
+        return maxBucketOccupancy;
+    }
+
+    @Override
+    public double getMeanProbeLength() {
+        return mean(probeLengths);
+    }
+
+    @Override
+    public double getMeanChainLength() {
+        return mean(chainLengths);
+    }
+
+    // Элемент i - число операций, просмотревших i ячеек; последний элемент - все более длинные
+    @Override
+    public long[] getProbeLengthHistogram() {
+        return probeLengths.clone();
+    }
+
+    @Override
+    public long[] getChainLengthHistogram() {
+        return chainLengths.clone();
+    }
+
+    private static double mean(long[] histogram) {
+        long count = 0;
+        long total = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            count += histogram[i];
+            total += i * histogram[i];
+        }
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    private static String histogramToString(long[] histogram) {
+        int last = histogram.length - 1;
+        while (last > 0 && histogram[last] == 0) {
+            last--;
+        }
+        return Arrays.toString(Arrays.copyOf(histogram, last + 1));
+    }
+
+    @Override
+    public String toString() {
+        return "HashTableStats{" + collisionResolution
+                + ", size=" + size
+                + ", capacity=" + capacity
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", treeLookups=" + treeLookups
+                + ", resizes=" + resizes
+                + ", totalResizeMillis=" + getTotalResizeMillis()
+                + ", maxResizeMillis=" + getMaxResizeMillis()
+                + ", tombstoneRatio=" + getTombstoneRatio()
+                + ", maxBucketOccupancy=" + maxBucketOccupancy
+                + ", probeLengths=" + histogramToString(probeLengths)
+                + ", chainLengths=" + histogramToString(chainLengths)
+                + '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.hash_table;
+
+// Статистика хеш-таблицы для мониторинга через JMX
+public interface HashTableStatsMXBean {
+    String getCollisionResolution();
+
+    int getSize();
+
+    int getCapacity();
+
+    double getLoadFactor();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRatio();
+
+    long getTreeLookups();
+
+    long getResizeCount();
+
+    double getTotalResizeMillis();
+
+    double getMaxResizeMillis();
+
+    int getTombstones();
+
+    double getTombstoneRatio();
+
+    int getMaxBucketOccupancy();
+
+    double getMeanProbeLength();
+
+    double getMeanChainLength();
+
+    long[] getProbeLengthHistogram();
+
+    long[] getChainLengthHistogram();
+}
@@ -1,7 +1,25 @@
 package com.example.hash_table;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
 
 public class HashTableTest {
+    // Не даёт JIT выбросить цикл вычисления хешей
+    private static volatile int blackhole;
+
     // Метод для оценки качества хеширования методом квадрата отклонения
     private static double evaluateHashQuality(HashTable<Integer, String> hashTable) {
         double deviation = 0;
@@ -13,7 +31,7 @@ public class HashTableTest {
             hashTable.put(key, value);
         }
 
-        deviation = calculateDeviation(hashTable);
+        deviation = calculateDeviation(hashTable, i -> i);
 
         hashTable.clear();
 
@@ -25,9 +43,8 @@ public class HashTableTest {
         Random random = new Random();
         long totalTime = 0;
 
-        // Определение размера таблицы в зависимости от коэффициента заполнения
-        int tableSize = (int) (dataSize / loadFactor);
-        hashTable = new HashTable<>(); // Создание новой таблицы с измененным размером
+        // Таблица заранее рассчитана на dataSize элементов при заданном коэффициенте заполнения
+        hashTable = new HashTable<>(dataSize, loadFactor); // Создание новой таблицы с измененным размером
         hashTable.setCollisionResolution(HashTable.CollisionResolution.CHAINING); // Или установка типа разрешения коллизий, если это необходимо
 
         for (int i = 0; i < dataSize; i++) {
@@ -46,13 +63,13 @@ public class HashTableTest {
     }
 
     // Метод для вычисления квадрата отклонения
-    private static double calculateDeviation(HashTable<Integer, String> hashTable) {
+    private static <K> double calculateDeviation(HashTable<K, ?> hashTable, IntFunction<K> keys) {
         int[] distribution = new int[hashTable.getTableSize()];
         int dataSize = hashTable.size();
         double deviation = 0;
 
         for (int i = 0; i < dataSize; i++) {
-            int key = i;
+            K key = keys.apply(i);
             int index = hashTable.hash(key);
             distribution[index]++;
         }
@@ -65,7 +82,454 @@ public class HashTableTest {
 
         return deviation;
     }
-    public static void main(String[] args) {
+
+    // Сравнение стратегий хеширования: квадрат отклонения и среднее время вычисления хеша
+    private static <K> void compareHashStrategies(String keyType, Map<String, HashStrategy<? super K>> strategies,
+                                                  IntFunction<K> keys, int dataSize) {
+        for (Map.Entry<String, HashStrategy<? super K>> entry : strategies.entrySet()) {
+            HashTable<K, Integer> hashTable = new HashTable<>(entry.getValue());
+            for (int i = 0; i < dataSize; i++) {
+                hashTable.put(keys.apply(i), i);
+            }
+            double deviation = calculateDeviation(hashTable, keys);
+
+            int sink = 0;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < dataSize; i++) {
+                sink += entry.getValue().hash(keys.apply(i));
+            }
+            long averageTime = (System.nanoTime() - startTime) / dataSize;
+            blackhole = sink;
+
+            System.out.println(keyType + ", " + entry.getKey() + ": квадрат отклонения " + deviation
+                    + ", время хеширования " + averageTime + " наносекунд");
+        }
+    }
+
+    private static void compareHashStrategies(int dataSize) {
+        Map<String, HashStrategy<? super Integer>> integerStrategies = new LinkedHashMap<>();
+        integerStrategies.put("hashCode", HashStrategy.defaultStrategy());
+        integerStrategies.put("Fibonacci", HashStrategy.fibonacci());
+        compareHashStrategies("Integer", integerStrategies, i -> i, dataSize);
+        compareHashStrategies("Integer * 1024", integerStrategies, i -> i << 10, dataSize);
+
+        Map<String, HashStrategy<? super String>> stringStrategies = new LinkedHashMap<>();
+        stringStrategies.put("hashCode", HashStrategy.defaultStrategy());
+        stringStrategies.put("Fibonacci", HashStrategy.fibonacci());
+        stringStrategies.put("Murmur3", HashStrategy.murmur3Strings(0x5bd1e995));
+        String[] words = new String[dataSize];
+        for (int i = 0; i < dataSize; i++) {
+            words[i] = "Value" + i;
+        }
+        compareHashStrategies("String", stringStrategies, i -> words[i], dataSize);
+    }
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Сравнение HashTable<Integer, String> и IntObjectHashTable<String>: время вставки/поиска и занимаемая память
+    private static void comparePrimitiveTables(int dataSize) {
+        String value = "Value";
+
+        long before = usedMemory();
+        long startTime = System.nanoTime();
+        HashTable<Integer, String> boxedTable = new HashTable<>();
+        for (int i = 0; i < dataSize; i++) {
+            boxedTable.put(i * 31, value);
+        }
+        long boxedInsertTime = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < dataSize; i++) {
+            if (boxedTable.get(i * 31) != null) {
+                found++;
+            }
+        }
+        long boxedSearchTime = System.nanoTime() - startTime;
+        long boxedMemory = usedMemory() - before;
+        Reference.reachabilityFence(boxedTable);
+        boxedTable = null;
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        IntObjectHashTable<String> primitiveTable = new IntObjectHashTable<>();
+        for (int i = 0; i < dataSize; i++) {
+            primitiveTable.put(i * 31, value);
+        }
+        long primitiveInsertTime = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+        for (int i = 0; i < dataSize; i++) {
+            if (primitiveTable.get(i * 31) != null) {
+                found++;
+            }
+        }
+        long primitiveSearchTime = System.nanoTime() - startTime;
+        long primitiveMemory = usedMemory() - before;
+        Reference.reachabilityFence(primitiveTable);
+        blackhole = found + primitiveTable.size();
+
+        System.out.println("HashTable<Integer, String>: вставка " + boxedInsertTime / dataSize + " нс, поиск "
+                + boxedSearchTime / dataSize + " нс, память " + boxedMemory / 1024 + " КБ");
+        System.out.println("IntObjectHashTable<String>: вставка " + primitiveInsertTime / dataSize + " нс, поиск "
+                + primitiveSearchTime / dataSize + " нс, память " + primitiveMemory / 1024 + " КБ");
+    }
+
+    // Худшее время одной вставки с обычной и постепенной перестройкой таблицы
+    private static void evaluateWorstCaseInsertion(int dataSize) {
+        for (HashTable.CollisionResolution resolution : HashTable.CollisionResolution.values()) {
+            for (boolean incremental : new boolean[]{false, true}) {
+                HashTable<Integer, String> hashTable = new HashTable<>();
+                hashTable.setCollisionResolution(resolution);
+                hashTable.setIncrementalResize(incremental);
+                long totalTime = 0;
+                long maxTime = 0;
+                for (int i = 0; i < dataSize; i++) {
+                    long startTime = System.nanoTime();
+                    hashTable.put(i, "Value");
+                    long time = System.nanoTime() - startTime;
+                    totalTime += time;
+                    maxTime = Math.max(maxTime, time);
+                }
+                System.out.println(resolution + (incremental ? ", постепенная перестройка" : ", перестройка за один вызов")
+                        + ": среднее время вставки " + totalTime / dataSize + " нс, максимальное " + maxTime / 1000 + " мкс");
+            }
+        }
+    }
+
+    // Строки из блоков "Aa" и "BB" имеют одинаковый hashCode и попадают в одну корзину
+    private static String[] collidingKeys(int blocks) {
+        String[] keys = new String[1 << blocks];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int b = 0; b < blocks; b++) {
+                sb.append((i >> b & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = sb.toString();
+        }
+        return keys;
+    }
+
+    // Время поиска при худшем распределении: все ключи с одинаковым хешем
+    private static void evaluateCollidingKeys() {
+        for (HashTable.CollisionResolution resolution : HashTable.CollisionResolution.values()) {
+            for (int blocks = 8; blocks <= 14; blocks += 2) {
+                String[] keys = collidingKeys(blocks);
+                HashTable<String, Integer> hashTable = new HashTable<>();
+                hashTable.setCollisionResolution(resolution);
+                for (int i = 0; i < keys.length; i++) {
+                    hashTable.put(keys[i], i);
+                }
+
+                int searchOperations = 100_000;
+                Random random = new Random(blocks);
+                int found = 0;
+                long startTime = System.nanoTime();
+                for (int i = 0; i < searchOperations; i++) {
+                    if (hashTable.get(keys[random.nextInt(keys.length)]) != null) {
+                        found++;
+                    }
+                }
+                long averageTime = (System.nanoTime() - startTime) / searchOperations;
+                blackhole = found;
+                System.out.println(resolution + ", " + keys.length + " ключей с одинаковым хешем: среднее время поиска "
+                        + averageTime + " наносекунд");
+            }
+        }
+    }
+
+    // Статистика таблицы после смешанной нагрузки, в том числе через JMX
+    private static void printStatistics(int dataSize) {
+        Random random = new Random(7);
+        for (HashTable.CollisionResolution resolution : HashTable.CollisionResolution.values()) {
+            HashTable<Integer, String> hashTable = new HashTable<>();
+            hashTable.setCollisionResolution(resolution);
+            hashTable.setStatisticsEnabled(true);
+            for (int i = 0; i < dataSize; i++) {
+                int key = random.nextInt(2 * dataSize);
+                switch (random.nextInt(4)) {
+                    case 0, 1 -> hashTable.put(key, "Value" + i);
+                    case 2 -> hashTable.get(key);
+                    default -> hashTable.remove(key);
+                }
+            }
+            System.out.println(hashTable.getStatistics());
+
+            try {
+                ObjectName name = hashTable.registerMBean("test-" + resolution);
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                System.out.println("JMX " + name + ": HitRatio=" + server.getAttribute(name, "HitRatio")
+                        + ", MeanProbeLength=" + server.getAttribute(name, "MeanProbeLength")
+                        + ", MeanChainLength=" + server.getAttribute(name, "MeanChainLength"));
+                // После выключения статистики MBean отдаёт последний снимок, а не исключение
+                hashTable.setStatisticsEnabled(false);
+                System.out.println("JMX после выключения статистики: Hits=" + server.getAttribute(name, "Hits"));
+                server.unregisterMBean(name);
+            } catch (JMException e) {
+                System.out.println("JMX недоступен: " + e);
+            }
+        }
+    }
+
+    // Таблица byte[] -> byte[] вне кучи против HashTable с теми же данными: занятая куча и время
+    private static void compareOffHeapTable(int dataSize) {
+        long before = usedMemory();
+        long startTime = System.nanoTime();
+        HashTable<String, byte[]> heapTable = new HashTable<>();
+        for (int i = 0; i < dataSize; i++) {
+            heapTable.put("key" + i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        long heapInsertTime = System.nanoTime() - startTime;
+        long heapMemory = usedMemory() - before;
+        Reference.reachabilityFence(heapTable);
+        heapTable = null;
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        try (OffHeapHashTable offHeapTable = new OffHeapHashTable()) {
+            for (int i = 0; i < dataSize; i++) {
+                offHeapTable.put(("key" + i).getBytes(StandardCharsets.UTF_8), ("value" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            long offHeapInsertTime = System.nanoTime() - startTime;
+            long offHeapMemory = usedMemory() - before;
+
+            startTime = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < dataSize; i++) {
+                if (offHeapTable.get(("key" + i).getBytes(StandardCharsets.UTF_8)) != null) {
+                    found++;
+                }
+            }
+            long offHeapSearchTime = System.nanoTime() - startTime;
+            blackhole = found;
+
+            System.out.println("HashTable<String, byte[]>: вставка " + heapInsertTime / dataSize + " нс, куча "
+                    + heapMemory / 1024 + " КБ");
+            System.out.println("OffHeapHashTable: вставка " + offHeapInsertTime / dataSize + " нс, поиск "
+                    + offHeapSearchTime / dataSize + " нс, куча " + offHeapMemory / 1024 + " КБ, вне кучи "
+                    + offHeapTable.getOffHeapBytes() / 1024 + " КБ");
+        }
+    }
+
+    // HashTable<String, V> и StringObjectHashTable<V> (ключи в арене байтов): время и память на ключи
+    private static void compareStringKeyTables(int dataSize) {
+        String value = "value";
+        long before = usedMemory();
+        long startTime = System.nanoTime();
+        HashTable<String, String> objectTable = new HashTable<>();
+        for (int i = 0; i < dataSize; i++) {
+            objectTable.put("key" + i, value);
+        }
+        long objectInsertTime = System.nanoTime() - startTime;
+        long objectMemory = usedMemory() - before;
+        startTime = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < dataSize; i++) {
+            if (objectTable.get("key" + i) != null) {
+                found++;
+            }
+        }
+        long objectSearchTime = System.nanoTime() - startTime;
+        Reference.reachabilityFence(objectTable);
+        objectTable = null;
+
+        before = usedMemory();
+        startTime = System.nanoTime();
+        StringObjectHashTable<String> arenaTable = new StringObjectHashTable<>();
+        for (int i = 0; i < dataSize; i++) {
+            arenaTable.put("key" + i, value);
+        }
+        long arenaInsertTime = System.nanoTime() - startTime;
+        long arenaMemory = usedMemory() - before;
+        startTime = System.nanoTime();
+        for (int i = 0; i < dataSize; i++) {
+            if (arenaTable.get("key" + i) != null) {
+                found++;
+            }
+        }
+        long arenaSearchTime = System.nanoTime() - startTime;
+        blackhole = found;
+
+        System.out.println("HashTable<String, String>: вставка " + objectInsertTime / dataSize + " нс, поиск "
+                + objectSearchTime / dataSize + " нс, куча " + objectMemory / 1024 + " КБ");
+        System.out.println("StringObjectHashTable<String>: вставка " + arenaInsertTime / dataSize + " нс, поиск "
+                + arenaSearchTime / dataSize + " нс, куча " + arenaMemory / 1024 + " КБ, арена "
+                + arenaTable.getArenaBytes() / 1024 + " КБ");
+    }
+
+    // Последовательная и параллельная обработка: сумма ключей через поток и построение таблицы пакетом
+    private static void compareParallelOperations(int dataSize) {
+        Integer[] keys = new Integer[dataSize];
+        for (int i = 0; i < dataSize; i++) {
+            keys[i] = i * 31;
+        }
+
+        long startTime = System.nanoTime();
+        HashTable<Integer, Integer> table = new HashTable<>();
+        table.putAll(keys, keys);
+        long sequentialBuildTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        HashTable<Integer, Integer> parallelTable = new HashTable<>();
+        parallelTable.parallelPutAll(keys, keys);
+        long parallelBuildTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        long sum = table.keySet().stream().mapToLong(Integer::longValue).sum();
+        long sequentialSumTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        long parallelSum = parallelTable.keySet().parallelStream().mapToLong(Integer::longValue).sum();
+        long parallelSumTime = System.nanoTime() - startTime;
+        blackhole = (int) (sum ^ parallelSum);
+
+        System.out.println("Потоков в пуле fork-join: " + ForkJoinPool.getCommonPoolParallelism());
+        System.out.println("Построение: putAll " + sequentialBuildTime / 1_000_000 + " мс, parallelPutAll "
+                + parallelBuildTime / 1_000_000 + " мс");
+        System.out.println("Сумма ключей: stream " + sequentialSumTime / 1_000_000 + " мс, parallelStream "
+                + parallelSumTime / 1_000_000 + " мс" + (sum == parallelSum ? "" : " (суммы различаются!)"));
+    }
+
+    // Поиск с фильтром Блума и без него, когда 80% искомых ключей нет в таблице;
+    // при одних попаданиях фильтр должен отключиться сам
+    private static void compareMembershipFilter(int dataSize, int lookups) {
+        Random random = new Random(23);
+        Integer[] keys = new Integer[dataSize];
+        for (int i = 0; i < dataSize; i++) {
+            keys[i] = random.nextInt();
+        }
+        Integer[] missHeavy = new Integer[lookups];
+        Integer[] hitsOnly = new Integer[lookups];
+        for (int i = 0; i < lookups; i++) {
+            missHeavy[i] = random.nextInt(5) == 0 ? keys[random.nextInt(dataSize)] : random.nextInt();
+            hitsOnly[i] = keys[random.nextInt(dataSize)];
+        }
+
+        for (HashTable.CollisionResolution resolution : HashTable.CollisionResolution.values()) {
+            HashTable<Integer, Integer> table = new HashTable<>();
+            table.setCollisionResolution(resolution);
+            table.putAll(keys, keys);
+            long plainTime = timeLookups(table, missHeavy);
+            table.setMembershipFilter(0.01);
+            long filteredTime = timeLookups(table, missHeavy);
+            long filterBytes = table.getMembershipFilterBytes();
+            timeLookups(table, hitsOnly);
+            System.out.println(resolution + ": 80% промахов - без фильтра " + plainTime / lookups + " нс, с фильтром "
+                    + filteredTime / lookups + " нс (фильтр " + filterBytes / 1024 + " КБ); при одних попаданиях фильтр "
+                    + (table.isMembershipFilterActive() ? "остался включён" : "отключился"));
+        }
+    }
+
+    private static long timeLookups(HashTable<Integer, Integer> table, Integer[] keys) {
+        long startTime = System.nanoTime();
+        int found = 0;
+        for (Integer key : keys) {
+            if (table.get(key) != null) {
+                found++;
+            }
+        }
+        blackhole = found;
+        return System.nanoTime() - startTime;
+    }
+
+    // Загрузка текстового файла "ключ<TAB>значение": построчное чтение в строки с put от начальной ёмкости
+    // против HashTableText (отображение файла частями, разбор без строк, заранее подобранная ёмкость)
+    private static void compareTextImport(int dataSize) throws IOException {
+        Path file = Files.createTempFile("hash-table", ".tsv");
+        Path exported = Files.createTempFile("hash-table-export", ".tsv");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (int i = 0; i < dataSize; i++) {
+                    writer.write("key" + i + "\t" + i + "\n");
+                }
+            }
+            double megabytes = (double) Files.size(file) / (1 << 20);
+
+            long startTime = System.nanoTime();
+            HashTable<String, Integer> naiveTable = new HashTable<>();
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    int separator = line.indexOf('\t');
+                    if (separator < 0) {
+                        separator = line.lastIndexOf(',');
+                    }
+                    if (separator > 0) {
+                        naiveTable.put(line.substring(0, separator), Integer.valueOf(line.substring(separator + 1).trim()));
+                    }
+                }
+            }
+            long naiveTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            HashTable<String, Integer> streamedTable = HashTableText.load(file, Codec.utf8(), Codec.decimalIntegers());
+            long streamedTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            HashTable<String, Integer> parallelTable = new HashTable<>();
+            HashTableText.load(file, parallelTable, Codec.utf8(), Codec.decimalIntegers(), true, position -> { });
+            long parallelTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            HashTableText.save(streamedTable, exported, Codec.utf8(), Codec.decimalIntegers());
+            long exportTime = System.nanoTime() - startTime;
+
+            boolean same = naiveTable.size() == streamedTable.size() && parallelTable.size() == streamedTable.size()
+                    && Files.size(exported) == Files.size(file);
+            System.out.printf("Загрузка %.0f МБ: построчно %.0f МБ/с, HashTableText %.0f МБ/с, параллельно %.0f МБ/с; "
+                            + "выгрузка %.0f МБ/с%s%n", megabytes, megabytes * 1e9 / naiveTime,
+                    megabytes * 1e9 / streamedTime, megabytes * 1e9 / parallelTime, megabytes * 1e9 / exportTime,
+                    same ? "" : " (результаты различаются!)");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(exported);
+        }
+    }
+
+    // Кеш с вытеснением CLOCK против LRU на LinkedHashMap при неравномерном (степенном) распределении обращений
+    private static void compareBoundedCache(int capacity, int operations) {
+        Random random = new Random(17);
+        int[] requests = new int[operations];
+        for (int i = 0; i < operations; i++) {
+            // Ключ k запрашивается с вероятностью примерно пропорциональной 1 / k
+            requests[i] = (int) Math.exp(random.nextDouble() * Math.log(100.0 * capacity));
+        }
+
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(capacity);
+        long startTime = System.nanoTime();
+        for (int key : requests) {
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        long cacheTime = System.nanoTime() - startTime;
+
+        Map<Integer, Integer> lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        long lruHits = 0;
+        startTime = System.nanoTime();
+        for (int key : requests) {
+            if (lru.get(key) == null) {
+                lru.put(key, key);
+            } else {
+                lruHits++;
+            }
+        }
+        long lruTime = System.nanoTime() - startTime;
+
+        System.out.printf("BoundedCache (CLOCK): доля попаданий %.3f, вытеснений %d, %d нс на обращение%n",
+                cache.getHitRatio(), cache.getEvictions(), cacheTime / operations);
+        System.out.printf("LinkedHashMap (LRU): доля попаданий %.3f, %d нс на обращение%n",
+                (double) lruHits / operations, lruTime / operations);
+    }
+
+    public static void main(String[] args) throws IOException {
         // Создание хеш-таблицы с цепочками коллизий
         HashTable<Integer, String> chainingHashTable = new HashTable<>();
         chainingHashTable.setCollisionResolution(HashTable.CollisionResolution.CHAINING);
@@ -171,6 +635,39 @@ public class HashTableTest {
         System.out.println("Квадрат отклонения для хеш-таблицы с цепочками коллизий: " + chainingDeviation);
         System.out.println("Квадрат отклонения для хеш-таблицы с открытой адресацией: " + openAddressingDeviation);
 
+        // Сравнение стратегий хеширования
+        compareHashStrategies(100_000);
+
+        // Сравнение таблицы с упакованными ключами и таблицы с ключами int
+        comparePrimitiveTables(1_000_000);
+
+        // Задержка вставки в момент перестройки таблицы
+        evaluateWorstCaseInsertion(2_000_000);
+
+        // Поиск среди ключей с одинаковым хешем
+        evaluateCollidingKeys();
+
+        // Статистика операций
+        printStatistics(100_000);
+
+        // Хранение данных вне кучи
+        compareOffHeapTable(1_000_000);
+
+        // Строковые ключи в арене байтов
+        compareStringKeyTables(1_000_000);
+
+        // Параллельные операции
+        compareParallelOperations(2_000_000);
+
+        // Кеш ограниченного размера
+        compareBoundedCache(10_000, 2_000_000);
+
+        // Фильтр Блума для поиска отсутствующих ключей
+        compareMembershipFilter(1_000_000, 4_000_000);
+
+        // Потоковая загрузка и выгрузка текстовых файлов
+        compareTextImport(2_000_000);
+
         // Оценка средней трудоемкости операции вставки для разных коэффициентов заполнения таблиц
         for (double loadFactor = 0.1; loadFactor <= 1.0; loadFactor += 0.1) {
             // Оценка средней трудоемкости операции вставки
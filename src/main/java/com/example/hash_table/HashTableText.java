@@ -0,0 +1,230 @@
+package com.example.hash_table;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+
+// Потоковая загрузка и выгрузка текстовых файлов со строками "ключ<TAB>значение" или "ключ,значение"
+// (разделитель - первая табуляция, а без неё последняя запятая; строки без разделителя пропускаются).
+// Файл отображается в память частями по CHUNK_SIZE байт, граница части сдвигается к концу строки.
+// Строки не превращаются в String до разделения на ключ и значение: кодеки разбирают их прямо из отображения.
+// Записи вставляются в таблицу пакетами (putAll). Ёмкость заранее подбирается по выборке из файла
+// и уточняется по числу уже разобранных записей перед вставкой каждой группы частей.
+// Ключи не должны содержать табуляцию и перевод строки: экранирования нет.
+public final class HashTableText {
+    private static final int CHUNK_SIZE = 1 << 26;
+    // Средняя длина строки оценивается по SAMPLE_WINDOWS равномерно расположенным окнам общим размером
+    // SAMPLE_SIZE, а по ней - число записей в файле
+    private static final int SAMPLE_SIZE = 1 << 20;
+    private static final int SAMPLE_WINDOWS = 8;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte[] EMPTY = new byte[0];
+
+    private HashTableText() {
+    }
+
+    public static <K, V> HashTable<K, V> load(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        HashTable<K, V> table = new HashTable<>();
+        load(path, table, keyCodec, valueCodec, false, position -> { });
+        return table;
+    }
+
+    // Добавляет записи файла в table; при повторе ключа остаётся значение из последней строки, пустое значение - null.
+    // parallel - части файла разбираются параллельно в общем пуле fork-join (по одной на поток) и вставляются
+    // через parallelPutAll. progress получает число обработанных байт после каждой части.
+    public static <K, V> void load(Path path, HashTable<K, V> table, Codec<? extends K> keyCodec,
+                                   Codec<? extends V> valueCodec, boolean parallel, LongConsumer progress)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int initialSize = table.size();
+            ensureCapacity(table, initialSize, estimateRecords(channel, size));
+            long records = 0;
+            int group = parallel ? Math.max(1, ForkJoinPool.getCommonPoolParallelism()) : 1;
+            long position = 0;
+            while (position < size) {
+                List<ByteBuffer> chunks = new ArrayList<>();
+                while (chunks.size() < group && position < size) {
+                    ByteBuffer chunk = nextChunk(channel, position, size);
+                    chunks.add(chunk);
+                    position += chunk.limit();
+                }
+                List<Records<K, V>> parsed = (chunks.size() > 1 ? chunks.parallelStream() : chunks.stream())
+                        .map(chunk -> Records.<K, V>parse(chunk, keyCodec, valueCodec))
+                        .toList();
+                for (Records<K, V> chunkRecords : parsed) {
+                    records += chunkRecords.keys().length;
+                }
+                // Если выборка ошиблась, ёмкость растёт сразу под весь файл по фактической длине строк,
+                // а не по размеру каждого пакета
+                if (position < size) {
+                    ensureCapacity(table, initialSize, (long) ((double) size * records / position));
+                }
+                for (Records<K, V> chunkRecords : parsed) {
+                    if (parallel) {
+                        table.parallelPutAll(chunkRecords.keys(), chunkRecords.values());
+                    } else {
+                        table.putAll(chunkRecords.keys(), chunkRecords.values());
+                    }
+                }
+                progress.accept(position);
+            }
+        }
+    }
+
+    private static void ensureCapacity(HashTable<?, ?> table, int initialSize, long records) {
+        table.ensureCapacity((int) Math.min(Integer.MAX_VALUE / 2, initialSize + records));
+    }
+
+    // Окна расположены равномерно от начала до конца файла, чтобы файл с разной длиной строк
+    // в начале и в конце (например, отсортированный по ключу) не давал оценку только по своему началу
+    private static long estimateRecords(FileChannel channel, long size) throws IOException {
+        // Небольшой файл читается целиком одним окном
+        int windows = size <= SAMPLE_SIZE ? 1 : SAMPLE_WINDOWS;
+        int windowSize = (int) Math.min(SAMPLE_SIZE / windows, size);
+        long step = windows == 1 ? 0 : (size - windowSize) / (windows - 1);
+        long lines = 0;
+        for (int i = 0; i < windows; i++) {
+            lines += countLines(channel, i * step, windowSize);
+        }
+        return lines == 0 ? 1 : (long) ((double) size * lines / ((long) windowSize * windows));
+    }
+
+    private static int countLines(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer sample = ByteBuffer.allocate(length);
+        while (sample.hasRemaining() && channel.read(sample, position + sample.position()) >= 0) {
+            // Читаем, пока не заполнится окно
+        }
+        int lines = 0;
+        for (int i = 0; i < sample.position(); i++) {
+            if (sample.get(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    // Отображение части файла с position, заканчивающейся переводом строки (или концом файла)
+    private static ByteBuffer nextChunk(FileChannel channel, long position, long size) throws IOException {
+        long length = Math.min(CHUNK_SIZE, size - position);
+        while (true) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            if (position + length == size) {
+                return mapped;
+            }
+            for (int i = (int) length - 1; i >= 0; i--) {
+                if (mapped.get(i) == '\n') {
+                    return mapped.limit(i + 1);
+                }
+            }
+            // Строка длиннее части: отображение увеличивается, пока не захватит её конец
+            if (length > Integer.MAX_VALUE / 2) {
+                throw new IOException("Line longer than " + length + " bytes at offset " + position);
+            }
+            length = Math.min(2 * length, size - position);
+        }
+    }
+
+    // Записи одной части файла
+    private record Records<K, V>(K[] keys, V[] values) {
+        @SuppressWarnings("unchecked")
+        static <K, V> Records<K, V> parse(ByteBuffer chunk, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec) {
+            int end = chunk.limit();
+            Object[] keys = new Object[16];
+            Object[] values = new Object[16];
+            int count = 0;
+            int lineStart = 0;
+            while (lineStart < end) {
+                int tab = -1;
+                int comma = -1;
+                int lineEnd = lineStart;
+                for (; lineEnd < end; lineEnd++) {
+                    byte b = chunk.get(lineEnd);
+                    if (b == '\n') {
+                        break;
+                    }
+                    if (b == '\t' && tab < 0) {
+                        tab = lineEnd;
+                    } else if (b == ',') {
+                        comma = lineEnd;
+                    }
+                }
+                int separator = tab >= 0 ? tab : comma;
+                if (separator > lineStart) {
+                    // Пробелы и \r вокруг значения отбрасываются, как String.trim()
+                    int valueStart = separator + 1;
+                    int valueEnd = lineEnd;
+                    while (valueStart < valueEnd && (chunk.get(valueStart) & 0xFF) <= ' ') {
+                        valueStart++;
+                    }
+                    while (valueEnd > valueStart && (chunk.get(valueEnd - 1) & 0xFF) <= ' ') {
+                        valueEnd--;
+                    }
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, 2 * count);
+                        values = Arrays.copyOf(values, 2 * count);
+                    }
+                    keys[count] = keyCodec.decode(chunk, lineStart, separator - lineStart);
+                    values[count] = valueEnd > valueStart ? valueCodec.decode(chunk, valueStart, valueEnd - valueStart) : null;
+                    count++;
+                }
+                lineStart = lineEnd + 1;
+            }
+            return new Records<>((K[]) Arrays.copyOf(keys, count), (V[]) Arrays.copyOf(values, count));
+        }
+    }
+
+    // Записи выводятся по курсору через буфер в канал, без построения всего текста таблицы в памяти.
+    // Файл пишется во временный рядом с целевым и затем атомарно переименовывается, как в HashTableSnapshot
+    public static <K, V> void save(HashTable<K, V> table, Path path, Codec<? super K> keyCodec,
+                                   Codec<? super V> valueCodec) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            HashTable.Cursor<K, V> cursor = table.cursor();
+            while (cursor.advance()) {
+                byte[] key = keyCodec.encode(cursor.key());
+                V value = cursor.value();
+                byte[] encoded = value == null ? EMPTY : valueCodec.encode(value);
+                if (buffer.remaining() < key.length + encoded.length + 2) {
+                    drain(channel, buffer);
+                    if (buffer.remaining() < key.length + encoded.length + 2) {
+                        // Запись больше буфера уходит в канал напрямую
+                        writeFully(channel, ByteBuffer.wrap(key));
+                        drain(channel, buffer.put((byte) '\t'));
+                        writeFully(channel, ByteBuffer.wrap(encoded));
+                        buffer.put((byte) '\n');
+                        continue;
+                    }
+                }
+                buffer.put(key).put((byte) '\t').put(encoded).put((byte) '\n');
+            }
+            drain(channel, buffer);
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Записывает содержимое буфера от начала до позиции и очищает его
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
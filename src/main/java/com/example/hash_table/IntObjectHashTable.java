@@ -0,0 +1,71 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Хеш-таблица с ключами int без упаковки: ключи лежат в плоском массиве int[],
+// пробирование и удаление - общие с LongObjectHashTable и LongLongHashTable (PrimitiveKeyHashTable).
+public class IntObjectHashTable<V> extends ObjectValueHashTable<V> {
+    private int[] keys;
+
+    public IntObjectHashTable() {
+        this(0);
+    }
+
+    public IntObjectHashTable(int expectedSize) {
+        super(expectedSize);
+    }
+
+    @Override
+    void allocateKeys(int capacity) {
+        keys = new int[capacity];
+    }
+
+    @Override
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    void setKey(int index, long key) {
+        keys[index] = (int) key;
+    }
+
+    @Override
+    int mix(long key) {
+        return Murmur3.fmix((int) key);
+    }
+
+    @Override
+    void clearKeys() {
+        Arrays.fill(keys, 0);
+    }
+
+    @Override
+    void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values();
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                setValue(insertNew(oldKeys[i]), oldValues[i]);
+            }
+        }
+        setValue(capacity, oldValues[oldKeys.length]);
+    }
+
+    public V get(int key) {
+        return getValue(key);
+    }
+
+    public boolean containsKey(int key) {
+        return containsKeyValue(key);
+    }
+
+    public void put(int key, V value) {
+        putValue(key, value);
+    }
+
+    public void remove(int key) {
+        removeKey(key);
+    }
+}
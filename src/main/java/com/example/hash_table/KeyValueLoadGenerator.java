@@ -0,0 +1,264 @@
+package com.example.hash_table;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+// Нагрузка на KeyValueServer через loopback: каждое соединение в своём потоке шлёт пачки из pipeline команд
+// GET/SET одной записью и ждёт все ответы; задержка пачки - от отправки до последнего ответа.
+// Без host запускает сервер в этом же процессе на свободном порту, так что замер охватывает весь стек
+// (сокеты ядра, разбор протокола, таблицу) на одной машине без внешних сервисов.
+//
+// java -cp target/classes com.example.hash_table.KeyValueLoadGenerator \
+//     connections=1,16,256 pipeline=1,16,128 seconds=3 keys=100000 valueSize=100 reads=0.9
+public final class KeyValueLoadGenerator {
+    private static final byte[] GET = Resp.ascii("GET");
+    private static final byte[] SET = Resp.ascii("SET");
+    private static final int PREFILL_BATCH = 1000;
+
+    private KeyValueLoadGenerator() {
+    }
+
+    // Итог одного замера: число операций и задержки всех пачек в наносекундах
+    private record Result(long operations, long errors, long[] latencies) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected name=value: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int keyCount = Integer.parseInt(options.getOrDefault("keys", "100000"));
+        int valueSize = Integer.parseInt(options.getOrDefault("valueSize", "100"));
+        double reads = Double.parseDouble(options.getOrDefault("reads", "0.9"));
+        double seconds = Double.parseDouble(options.getOrDefault("seconds", "3"));
+        double warmupSeconds = Double.parseDouble(options.getOrDefault("warmup", "1"));
+        int[] connectionCounts = parseList(options.getOrDefault("connections", "1,16,256"));
+        int[] pipelineDepths = parseList(options.getOrDefault("pipeline", "1,16,128"));
+
+        KeyValueServer server = null;
+        InetSocketAddress address;
+        if (options.containsKey("host")) {
+            address = new InetSocketAddress(options.get("host"),
+                    Integer.parseInt(options.getOrDefault("port", Integer.toString(KeyValueServer.DEFAULT_PORT))));
+        } else {
+            server = new KeyValueServer();
+            address = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            System.out.println("Сервер в этом процессе: " + address
+                    + (server.usesVirtualThreads() ? ", виртуальные потоки" : ", пул потоков"));
+        }
+
+        byte[][] keys = new byte[keyCount][];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = Resp.ascii("key:" + i);
+        }
+        byte[] value = new byte[valueSize];
+        Arrays.fill(value, (byte) 'x');
+        prefill(address, keys, value);
+
+        System.out.printf("%11s %8s %12s %10s %10s %10s %10s %8s%n",
+                "connections", "pipeline", "ops/s", "MB/s", "p50 us", "p99 us", "p99.9 us", "errors");
+        try (ExecutorService executor = Resp.newThreadPerTaskExecutor()) {
+            for (int connections : connectionCounts) {
+                for (int pipeline : pipelineDepths) {
+                    run(executor, address, connections, pipeline, keys, value, reads, warmupSeconds);
+                    long start = System.nanoTime();
+                    Result result = run(executor, address, connections, pipeline, keys, value, reads, seconds);
+                    double elapsed = (System.nanoTime() - start) / 1e9;
+                    long[] latencies = result.latencies();
+                    Arrays.sort(latencies);
+                    // Полезные байты: значения, записанные SET и прочитанные GET
+                    double megabytes = (double) result.operations() * valueSize / (1 << 20);
+                    System.out.printf(Locale.ROOT, "%11d %8d %,12.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                            connections, pipeline, result.operations() / elapsed, megabytes / elapsed,
+                            percentile(latencies, 50) / 1e3, percentile(latencies, 99) / 1e3,
+                            percentile(latencies, 99.9) / 1e3, result.errors());
+                }
+            }
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static int[] parseList(String text) {
+        return Arrays.stream(text.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // Все ключи записываются заранее, чтобы GET попадали
+    private static void prefill(InetSocketAddress address, byte[][] keys, byte[] value) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer out = ByteBuffer.allocate(PREFILL_BATCH * Resp.commandLength(SET, keys[keys.length - 1], value));
+            ByteBuffer in = ByteBuffer.allocate(1 << 16);
+            for (int from = 0; from < keys.length; from += PREFILL_BATCH) {
+                int to = Math.min(keys.length, from + PREFILL_BATCH);
+                out.clear();
+                for (int i = from; i < to; i++) {
+                    Resp.putCommand(out, SET, keys[i], value);
+                }
+                out.flip();
+                if (exchange(channel, out, in, to - from) != 0) {
+                    throw new IOException("Server rejected SET during prefill");
+                }
+            }
+        }
+    }
+
+    private static Result run(ExecutorService executor, InetSocketAddress address, int connections, int pipeline,
+                              byte[][] keys, byte[] value, double reads, double seconds) throws Exception {
+        CountDownLatch connected = new CountDownLatch(connections);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int c = 0; c < connections; c++) {
+            long seed = c;
+            futures.add(executor.submit(() -> {
+                try (SocketChannel channel = SocketChannel.open(address)) {
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    connected.countDown();
+                    start.await();
+                    return drive(channel, pipeline, keys, value, reads, System.nanoTime() + (long) (seconds * 1e9),
+                            new SplittableRandom(seed));
+                } finally {
+                    connected.countDown();
+                }
+            }));
+        }
+        connected.await();
+        start.countDown();
+        long operations = 0;
+        long errors = 0;
+        List<long[]> latencies = new ArrayList<>();
+        int totalBatches = 0;
+        for (Future<Result> future : futures) {
+            Result result = future.get();
+            operations += result.operations();
+            errors += result.errors();
+            latencies.add(result.latencies());
+            totalBatches += result.latencies().length;
+        }
+        long[] all = new long[totalBatches];
+        int offset = 0;
+        for (long[] part : latencies) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        return new Result(operations, errors, all);
+    }
+
+    // Цикл одного соединения до deadline
+    private static Result drive(SocketChannel channel, int pipeline, byte[][] keys, byte[] value, double reads,
+                                long deadline, SplittableRandom random) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(pipeline * Resp.commandLength(SET, keys[keys.length - 1], value));
+        ByteBuffer in = ByteBuffer.allocate(Math.max(1 << 16, 2 * (value.length + Resp.MAX_NUMBER_LINE)));
+        long[] latencies = new long[1024];
+        int batches = 0;
+        long errors = 0;
+        while (System.nanoTime() < deadline) {
+            out.clear();
+            for (int i = 0; i < pipeline; i++) {
+                byte[] key = keys[random.nextInt(keys.length)];
+                if (random.nextDouble() < reads) {
+                    Resp.putCommand(out, GET, key);
+                } else {
+                    Resp.putCommand(out, SET, key, value);
+                }
+            }
+            out.flip();
+            long startTime = System.nanoTime();
+            errors += exchange(channel, out, in, pipeline);
+            if (batches == latencies.length) {
+                latencies = Arrays.copyOf(latencies, 2 * batches);
+            }
+            latencies[batches++] = System.nanoTime() - startTime;
+        }
+        return new Result((long) batches * pipeline, errors, Arrays.copyOf(latencies, batches));
+    }
+
+    // Отправляет пачку и читает replies ответов; возвращает число ответов-ошибок
+    private static int exchange(SocketChannel channel, ByteBuffer out, ByteBuffer in, int replies) throws IOException {
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        int errors = 0;
+        in.flip();
+        while (replies > 0) {
+            int start = in.position();
+            int reply = skipReply(in);
+            if (reply < 0) {
+                in.position(start);
+                in.compact();
+                if (channel.read(in) < 0) {
+                    throw new EOFException("Server closed the connection");
+                }
+                in.flip();
+                continue;
+            }
+            errors += reply;
+            replies--;
+        }
+        in.compact();
+        return errors;
+    }
+
+    // Пропускает один ответ: 0 - успешный, 1 - ошибка, -1 - ответ пришёл не целиком
+    private static int skipReply(ByteBuffer in) throws ProtocolException {
+        if (!in.hasRemaining()) {
+            return -1;
+        }
+        byte type = in.get();
+        switch (type) {
+            case '+', '-' -> {
+                return !Resp.skipLine(in) ? -1 : type == '-' ? 1 : 0;
+            }
+            case ':' -> {
+                return Resp.readNumber(in) == Resp.INCOMPLETE ? -1 : 0;
+            }
+            case '$' -> {
+                long length = Resp.readNumber(in);
+                if (length == Resp.INCOMPLETE) {
+                    return -1;
+                }
+                if (length < 0) {
+                    return 0;
+                }
+                if (in.remaining() < length + 2) {
+                    if (in.capacity() < length + Resp.MAX_NUMBER_LINE + 2) {
+                        throw new ProtocolException("Reply of " + length + " bytes does not fit the read buffer");
+                    }
+                    return -1;
+                }
+                in.position(in.position() + (int) length + 2);
+                return 0;
+            }
+            default -> throw new ProtocolException("Unexpected reply type '" + (char) type + "'");
+        }
+    }
+}
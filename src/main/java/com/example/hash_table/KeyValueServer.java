@@ -0,0 +1,361 @@
+package com.example.hash_table;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Сетевой доступ к ConcurrentHashTable<byte[], byte[]> по подмножеству протокола Redis (RESP): команды
+// GET key, SET key value (или PUT), DEL key..., PING, так что подходят и redis-cli, и redis-benchmark.
+// Каждое соединение обслуживает свой поток - виртуальный, если JVM их поддерживает, - с блокирующим
+// SocketChannel. Клиент может слать команды конвейером: все команды, пришедшие одним чтением, выполняются
+// подряд, а ответы на них уходят одной записью со сбором из нескольких буферов (gather write); значения
+// из таблицы при этом не копируются, а оборачиваются в ByteBuffer.
+//
+// java -cp target/classes com.example.hash_table.KeyValueServer [port]
+public class KeyValueServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 6380;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    // Запрос, не поместившийся в буфер такого размера, считается ошибкой протокола
+    private static final int MAX_REQUEST_SIZE = 1 << 26;
+    private static final int MAX_ARGUMENTS = 1 << 10;
+    // Значения до этой длины копируются в буфер ответа, длинные отправляются отдельным элементом записи
+    private static final int INLINE_VALUE_LIMIT = 256;
+    // Ограничение числа буферов в одной записи (IOV_MAX в Linux - 1024)
+    private static final int MAX_WRITE_SEGMENTS = 512;
+
+    private static final byte[] OK = Resp.ascii("+OK\r\n");
+    private static final byte[] PONG = Resp.ascii("+PONG\r\n");
+    private static final byte[] NULL_BULK = Resp.ascii("$-1\r\n");
+    private static final byte[] EMPTY_ARRAY = Resp.ascii("*0\r\n");
+
+    private final ConcurrentHashTable<byte[], byte[]> table;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+
+    public KeyValueServer() {
+        this(new ConcurrentHashTable<>(HashTable.CollisionResolution.CHAINING, HashStrategy.murmur3Bytes(0),
+                4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    // Ключи сравниваются по содержимому, поэтому стратегия таблицы должна быть вроде HashStrategy.murmur3Bytes
+    public KeyValueServer(ConcurrentHashTable<byte[], byte[]> table) {
+        this.table = table;
+        ExecutorService virtualThreadExecutor = Resp.newVirtualThreadPerTaskExecutor();
+        virtualThreads = virtualThreadExecutor != null;
+        executor = virtualThreads ? virtualThreadExecutor : Executors.newCachedThreadPool();
+    }
+
+    public ConcurrentHashTable<byte[], byte[]> getTable() {
+        return table;
+    }
+
+    // true, если соединения обслуживаются виртуальными потоками
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    // Начинает принимать соединения; порт 0 - любой свободный. Возвращает адрес, на котором слушает сервер
+    public InetSocketAddress start(InetSocketAddress address) throws IOException {
+        if (serverChannel != null) {
+            throw new IllegalStateException("Server is already started");
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        acceptor = new Thread(this::acceptLoop, "key-value-acceptor");
+        acceptor.start();
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (true) {
+                SocketChannel channel = serverChannel.accept();
+                connections.add(channel);
+                executor.execute(() -> serve(channel));
+            }
+        } catch (ClosedChannelException e) {
+            // Сервер остановлен
+        } catch (IOException e) {
+            System.err.println("Accept failed: " + e);
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            new Connection(channel).run();
+        } catch (IOException e) {
+            // Клиент отключился или сервер остановлен
+        } finally {
+            connections.remove(channel);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (serverChannel == null) {
+            return;
+        }
+        serverChannel.close();
+        for (SocketChannel channel : connections) {
+            channel.close();
+        }
+        executor.shutdown();
+        try {
+            acceptor.join();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Состояние одного соединения: буфер чтения с ещё не выполненными командами и ответы текущей пачки
+    private final class Connection {
+        private final SocketChannel channel;
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        // Части ответа для записи: участки out и значения из таблицы
+        private final List<ByteBuffer> segments = new ArrayList<>();
+        private int segmentStart;
+        private final int[] argumentStarts = new int[MAX_ARGUMENTS];
+        private final int[] argumentLengths = new int[MAX_ARGUMENTS];
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void run() throws IOException {
+            try {
+                while (channel.read(in) >= 0) {
+                    in.flip();
+                    while (true) {
+                        int start = in.position();
+                        if (!executeNext()) {
+                            in.position(start);
+                            break;
+                        }
+                    }
+                    in.compact();
+                    if (!in.hasRemaining()) {
+                        growReadBuffer();
+                    }
+                    flush();
+                }
+            } catch (ProtocolException e) {
+                appendError("Protocol error: " + e.getMessage());
+                flush();
+            }
+        }
+
+        // Буфер заполнен неполной командой: она длиннее буфера
+        private void growReadBuffer() throws ProtocolException {
+            if (in.capacity() >= MAX_REQUEST_SIZE) {
+                throw new ProtocolException("request is larger than " + MAX_REQUEST_SIZE + " bytes");
+            }
+            in.flip();
+            in = ByteBuffer.allocate(2 * in.capacity()).put(in);
+        }
+
+        // Разбирает и выполняет одну команду; false, если она пришла не целиком
+        private boolean executeNext() throws IOException {
+            if (!in.hasRemaining()) {
+                return false;
+            }
+            if (in.get() != '*') {
+                throw new ProtocolException("expected an array of bulk strings");
+            }
+            long count = Resp.readNumber(in);
+            if (count == Resp.INCOMPLETE) {
+                return false;
+            }
+            if (count < 1 || count > MAX_ARGUMENTS) {
+                throw new ProtocolException("invalid argument count " + count);
+            }
+            for (int i = 0; i < count; i++) {
+                if (!in.hasRemaining()) {
+                    return false;
+                }
+                if (in.get() != '$') {
+                    throw new ProtocolException("expected a bulk string");
+                }
+                long length = Resp.readNumber(in);
+                if (length == Resp.INCOMPLETE) {
+                    return false;
+                }
+                if (length < 0 || length > MAX_REQUEST_SIZE) {
+                    throw new ProtocolException("invalid bulk length " + length);
+                }
+                if (in.remaining() < length + 2) {
+                    return false;
+                }
+                argumentStarts[i] = in.position();
+                argumentLengths[i] = (int) length;
+                in.position(in.position() + (int) length);
+                if (in.get() != '\r' || in.get() != '\n') {
+                    throw new ProtocolException("bulk string is not terminated by CRLF");
+                }
+            }
+            execute((int) count);
+            return true;
+        }
+
+        private void execute(int count) throws IOException {
+            if (isCommand("GET")) {
+                if (count != 2) {
+                    wrongArguments("get");
+                    return;
+                }
+                byte[] value = table.get(argument(1));
+                if (value == null) {
+                    append(NULL_BULK);
+                } else {
+                    appendBulk(value);
+                }
+            } else if (isCommand("SET") || isCommand("PUT")) {
+                if (count != 3) {
+                    wrongArguments(isCommand("SET") ? "set" : "put");
+                    return;
+                }
+                table.put(argument(1), argument(2));
+                append(OK);
+            } else if (isCommand("DEL")) {
+                if (count < 2) {
+                    wrongArguments("del");
+                    return;
+                }
+                int removed = 0;
+                for (int i = 1; i < count; i++) {
+                    if (table.remove(argument(i))) {
+                        removed++;
+                    }
+                }
+                ensureSpace(Resp.MAX_NUMBER_LINE);
+                Resp.putHeader(out, ':', removed);
+            } else if (isCommand("PING")) {
+                append(PONG);
+            } else if (isCommand("COMMAND")) {
+                // redis-cli запрашивает описание команд при подключении
+                append(EMPTY_ARRAY);
+            } else {
+                String name = new String(in.array(), argumentStarts[0], argumentLengths[0], StandardCharsets.UTF_8);
+                appendError("unknown command '" + name + "'");
+            }
+        }
+
+        // Имя команды сравнивается без учёта регистра
+        private boolean isCommand(String name) {
+            if (argumentLengths[0] != name.length()) {
+                return false;
+            }
+            byte[] array = in.array();
+            for (int i = 0; i < name.length(); i++) {
+                if ((array[argumentStarts[0] + i] & ~0x20) != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private byte[] argument(int i) {
+            return Arrays.copyOfRange(in.array(), argumentStarts[i], argumentStarts[i] + argumentLengths[i]);
+        }
+
+        private void wrongArguments(String command) throws IOException {
+            appendError("wrong number of arguments for '" + command + "' command");
+        }
+
+        private void appendError(String message) throws IOException {
+            append(("-ERR " + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void append(byte[] bytes) throws IOException {
+            ensureSpace(bytes.length);
+            out.put(bytes);
+        }
+
+        private void appendBulk(byte[] value) throws IOException {
+            if (value.length <= INLINE_VALUE_LIMIT) {
+                ensureSpace(Resp.MAX_NUMBER_LINE + value.length + 2);
+                Resp.putBulk(out, value);
+                return;
+            }
+            ensureSpace(Resp.MAX_NUMBER_LINE);
+            Resp.putHeader(out, '$', value.length);
+            cutSegment();
+            segments.add(ByteBuffer.wrap(value));
+            ensureSpace(2);
+            Resp.putCrlf(out);
+        }
+
+        // Если в буфере ответа не хватает места или накопилось много частей, пачка отправляется раньше
+        private void ensureSpace(int bytes) throws IOException {
+            if (out.remaining() < bytes || segments.size() >= MAX_WRITE_SEGMENTS) {
+                flush();
+                if (out.remaining() < bytes) {
+                    throw new ProtocolException("reply does not fit the write buffer");
+                }
+            }
+        }
+
+        // Отрезает накопленный участок буфера ответа в отдельную часть записи
+        private void cutSegment() {
+            if (out.position() > segmentStart) {
+                segments.add(out.duplicate().limit(out.position()).position(segmentStart));
+                segmentStart = out.position();
+            }
+        }
+
+        // Все накопленные ответы уходят одной записью со сбором (writev)
+        private void flush() throws IOException {
+            cutSegment();
+            if (segments.isEmpty()) {
+                return;
+            }
+            ByteBuffer[] buffers = segments.toArray(new ByteBuffer[0]);
+            int first = 0;
+            while (first < buffers.length) {
+                channel.write(buffers, first, buffers.length - first);
+                while (first < buffers.length && !buffers[first].hasRemaining()) {
+                    first++;
+                }
+            }
+            segments.clear();
+            out.clear();
+            segmentStart = 0;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        KeyValueServer server = new KeyValueServer();
+        InetSocketAddress address = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        System.out.println("Listening on " + address + (server.usesVirtualThreads() ? " (virtual threads)" : " (thread pool)"));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println("Shutdown failed: " + e);
+            }
+        }));
+        server.acceptor.join();
+    }
+}
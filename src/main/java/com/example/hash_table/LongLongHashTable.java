@@ -0,0 +1,101 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Хеш-таблица long -> long без упаковки ключей и значений: ключи и значения лежат в плоских массивах long[],
+// пробирование и удаление - общие с IntObjectHashTable и LongObjectHashTable (PrimitiveKeyHashTable).
+public class LongLongHashTable extends PrimitiveKeyHashTable {
+    private long[] keys;
+    private long[] values;
+    // Возвращается get(), если ключа нет
+    private final long noEntryValue;
+
+    public LongLongHashTable() {
+        this(0, 0);
+    }
+
+    public LongLongHashTable(int expectedSize, long noEntryValue) {
+        super(expectedSize);
+        this.noEntryValue = noEntryValue;
+    }
+
+    public long getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    @Override
+    void allocateKeys(int capacity) {
+        keys = new long[capacity];
+    }
+
+    @Override
+    void allocateValues(int capacity) {
+        values = new long[capacity + 1];
+    }
+
+    @Override
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    void setKey(int index, long key) {
+        keys[index] = key;
+    }
+
+    @Override
+    int mix(long key) {
+        return (int) Murmur3.fmix64(key);
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int index) {
+        values[index] = 0;
+    }
+
+    @Override
+    void clearKeys() {
+        Arrays.fill(keys, 0);
+    }
+
+    @Override
+    void clearValues() {
+        Arrays.fill(values, 0);
+    }
+
+    @Override
+    void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                values[insertNew(oldKeys[i])] = oldValues[i];
+            }
+        }
+        values[capacity] = oldValues[oldKeys.length];
+    }
+
+    public long get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? noEntryValue : values[index];
+    }
+
+    public boolean containsKey(long key) {
+        return containsKeyValue(key);
+    }
+
+    public void put(long key, long value) {
+        int index = insertionIndex(key);
+        values[index] = value;
+    }
+
+    public void remove(long key) {
+        removeKey(key);
+    }
+}
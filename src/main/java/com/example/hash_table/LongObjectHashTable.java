@@ -0,0 +1,71 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Хеш-таблица с ключами long без упаковки: ключи лежат в плоском массиве long[],
+// пробирование и удаление - общие с IntObjectHashTable и LongLongHashTable (PrimitiveKeyHashTable).
+public class LongObjectHashTable<V> extends ObjectValueHashTable<V> {
+    private long[] keys;
+
+    public LongObjectHashTable() {
+        this(0);
+    }
+
+    public LongObjectHashTable(int expectedSize) {
+        super(expectedSize);
+    }
+
+    @Override
+    void allocateKeys(int capacity) {
+        keys = new long[capacity];
+    }
+
+    @Override
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    void setKey(int index, long key) {
+        keys[index] = key;
+    }
+
+    @Override
+    int mix(long key) {
+        return (int) Murmur3.fmix64(key);
+    }
+
+    @Override
+    void clearKeys() {
+        Arrays.fill(keys, 0);
+    }
+
+    @Override
+    void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values();
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                setValue(insertNew(oldKeys[i]), oldValues[i]);
+            }
+        }
+        setValue(capacity, oldValues[oldKeys.length]);
+    }
+
+    public V get(long key) {
+        return getValue(key);
+    }
+
+    public boolean containsKey(long key) {
+        return containsKeyValue(key);
+    }
+
+    public void put(long key, V value) {
+        putValue(key, value);
+    }
+
+    public void remove(long key) {
+        removeKey(key);
+    }
+}
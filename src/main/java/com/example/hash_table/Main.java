@@ -1,27 +1,59 @@
 package com.example.hash_table;
 import javafx.application.Application;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
 public class Main extends Application {
+    // Карта заполнения: HEATMAP_COLUMNS x HEATMAP_ROWS клеток, каждая - равный участок корзин
+    private static final int HEATMAP_COLUMNS = 128;
+    private static final int HEATMAP_ROWS = 8;
+    private static final double HEATMAP_CELL = 6;
+    private static final int MAX_FOUND = 1000;
+    private static final int PROGRESS_STEP = 1 << 16;
 
     private HashTable<String, Integer> hashTable;
     private TextArea outputTextArea;
+    private ListView<Integer> bucketView;
+    private Canvas heatmap;
+    private VBox controls;
+    private ProgressBar progressBar;
+    private Label statusLabel;
+    private Button cancelButton;
+    private Stage stage;
 
     @Override
     public void start(Stage primaryStage) {
+        stage = primaryStage;
         hashTable = new HashTable<>();
 
         BorderPane root = new BorderPane();
         VBox vbox = new VBox(10);
         vbox.setPadding(new Insets(10));
+        controls = vbox;
 
         Label label = new Label("Key:");
         TextField keyField = new TextField();
@@ -35,13 +67,45 @@ public class Main extends Application {
         Button emptyButton = new Button("Is Empty");
         Button clearButton = new Button("Clear");
         Button searchButton = new Button("Search");
+        Button findButton = new Button("Find Keys Containing");
         Button chainingButton = new Button("Chaining");
         Button openAddressingButton = new Button("Open Addressing");
+        Button swissTableButton = new Button("Swiss Table");
+        Button loadTextButton = new Button("Load Text...");
+        Button loadSnapshotButton = new Button("Load Snapshot...");
 
         outputTextArea = new TextArea();
         outputTextArea.setEditable(false);
         outputTextArea.setWrapText(true);
-        outputTextArea.setPrefSize(500, 500);
+        outputTextArea.setPrefSize(300, 200);
+
+        // Строки списка - номера корзин; ячейки создаются только для видимых строк и читают корзину при отрисовке
+        bucketView = new ListView<>(new BucketList(hashTable.getTableSize()));
+        bucketView.setFixedCellSize(24);
+        bucketView.setCellFactory(view -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer index, boolean empty) {
+                super.updateItem(index, empty);
+                setText(empty || index == null ? null : "[" + index + "]: " + hashTable.getBucketAsString(index));
+            }
+        });
+
+        heatmap = new Canvas(HEATMAP_COLUMNS * HEATMAP_CELL, HEATMAP_ROWS * HEATMAP_CELL);
+        heatmap.setOnMouseClicked(e -> {
+            int column = (int) (e.getX() / HEATMAP_CELL);
+            int row = (int) (e.getY() / HEATMAP_CELL);
+            int cells = Math.min(HEATMAP_COLUMNS * HEATMAP_ROWS, hashTable.getTableSize());
+            int cell = row * HEATMAP_COLUMNS + column;
+            if (cell < cells) {
+                bucketView.scrollTo((int) ((long) hashTable.getTableSize() * cell / cells));
+            }
+        });
+
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(300);
+        statusLabel = new Label();
+        cancelButton = new Button("Cancel");
+        cancelButton.setDisable(true);
 
         chainingButton.setOnAction(e -> {
             hashTable.setCollisionResolution(HashTable.CollisionResolution.CHAINING);
@@ -53,13 +117,18 @@ public class Main extends Application {
             updateOutputTextArea();
         });
 
+        swissTableButton.setOnAction(e -> {
+            hashTable.setCollisionResolution(HashTable.CollisionResolution.SWISS_TABLE);
+            updateOutputTextArea();
+        });
+
         addButton.setOnAction(e -> {
             String key = keyField.getText();
             Integer value = Integer.valueOf(valueField.getText());
             hashTable.put(key, value);
             keyField.clear();
             valueField.clear();
-            updateOutputTextArea();
+            bucketChanged(key);
         });
 
         removeButton.setOnAction(e -> {
@@ -67,7 +136,7 @@ public class Main extends Application {
             hashTable.remove(key);
             keyField.clear();
             valueField.clear();
-            updateOutputTextArea();
+            bucketChanged(key);
         });
 
         printButton.setOnAction(e -> {
@@ -96,26 +165,221 @@ public class Main extends Application {
             Integer value = hashTable.search(key);
             if (value != null) {
                 outputTextArea.setText("Value for key " + key + ": " + value);
+                if (hashTable.getCollisionResolution() == HashTable.CollisionResolution.CHAINING) {
+                    bucketView.scrollTo(hashTable.hash(key));
+                }
             } else {
                 outputTextArea.setText("Key not found");
             }
         });
 
-        vbox.getChildren().addAll(label, keyField, valueLabel, valueField, addButton, removeButton, printButton, sizeButton, countButton, emptyButton, clearButton, searchButton,chainingButton, openAddressingButton, outputTextArea);
-        root.setCenter(vbox);
+        findButton.setOnAction(e -> runInBackground(findKeys(keyField.getText()), outputTextArea::setText));
+
+        loadTextButton.setOnAction(e -> {
+            File file = new FileChooser().showOpenDialog(stage);
+            if (file != null) {
+                runInBackground(loadText(file.toPath(), hashTable.getCollisionResolution()), this::replaceTable);
+            }
+        });
+
+        loadSnapshotButton.setOnAction(e -> {
+            File file = new FileChooser().showOpenDialog(stage);
+            if (file != null) {
+                runInBackground(loadSnapshot(file.toPath()), this::replaceTable);
+            }
+        });
+
+        vbox.getChildren().addAll(label, keyField, valueLabel, valueField, addButton, removeButton, printButton, sizeButton, countButton, emptyButton, clearButton, searchButton, findButton, chainingButton, openAddressingButton, swissTableButton, loadTextButton, loadSnapshotButton, outputTextArea);
+        root.setLeft(vbox);
+        root.setTop(heatmap);
+        BorderPane.setMargin(heatmap, new Insets(10));
+        root.setCenter(bucketView);
+        HBox statusBar = new HBox(10, progressBar, cancelButton, statusLabel);
+        statusBar.setPadding(new Insets(10));
+        root.setBottom(statusBar);
 
         Scene scene = new Scene(root, 1000, 1000);
         primaryStage.setScene(scene);
         primaryStage.setTitle("Hash_Table");
         primaryStage.show();
+        updateOutputTextArea();
     }
 
     private void updateOutputTextArea() {
-        outputTextArea.setText("Hash table structure:\n" + hashTable.getTableAsString());
-        outputTextArea.appendText("\nCollision Resolution: " + hashTable.getCollisionResolution());
+        bucketView.setItems(new BucketList(hashTable.getTableSize()));
+        drawHeatmap();
+        outputTextArea.setText("Element Count: " + hashTable.getElementCount()
+                + "\nTable Size: " + hashTable.getTableSize()
+                + "\nCollision Resolution: " + hashTable.getCollisionResolution());
+    }
+
+    // После вставки или удаления одного ключа перерисовывается только его корзина. При открытой адресации
+    // ключ мог попасть в другую ячейку цепочки проб, поэтому перерисовываются видимые строки;
+    // при изменении размера таблицы список строится заново
+    private void bucketChanged(String key) {
+        BucketList buckets = (BucketList) bucketView.getItems();
+        if (buckets.size() != hashTable.getTableSize()) {
+            updateOutputTextArea();
+            return;
+        }
+        if (hashTable.getCollisionResolution() == HashTable.CollisionResolution.CHAINING) {
+            buckets.changed(hashTable.hash(key));
+        } else {
+            bucketView.refresh();
+        }
+        drawHeatmap();
+        outputTextArea.setText("Element Count: " + hashTable.getElementCount());
+    }
+
+    private void replaceTable(HashTable<String, Integer> loaded) {
+        hashTable = loaded;
+        updateOutputTextArea();
+    }
+
+    // Цвет клетки - средняя заполненность её корзин: синий для пустых, красный для полностью занятых
+    // (при цепочках - в среднем с одним и более элементом на корзину)
+    private void drawHeatmap() {
+        GraphicsContext gc = heatmap.getGraphicsContext2D();
+        gc.setFill(Color.LIGHTGRAY);
+        gc.fillRect(0, 0, heatmap.getWidth(), heatmap.getHeight());
+        int capacity = hashTable.getTableSize();
+        int[] occupancy = hashTable.getOccupancy(HEATMAP_COLUMNS * HEATMAP_ROWS);
+        for (int cell = 0; cell < occupancy.length; cell++) {
+            long from = (long) capacity * cell / occupancy.length;
+            long to = (long) capacity * (cell + 1) / occupancy.length;
+            double fill = Math.min(1, (double) occupancy[cell] / (to - from));
+            gc.setFill(Color.hsb(240 * (1 - fill), 0.8, 0.9));
+            gc.fillRect((cell % HEATMAP_COLUMNS) * HEATMAP_CELL, (cell / HEATMAP_COLUMNS) * HEATMAP_CELL,
+                    HEATMAP_CELL - 1, HEATMAP_CELL - 1);
+        }
+    }
+
+    // Задача выполняется в отдельном потоке; пока она идёт, кнопки, меняющие таблицу, недоступны,
+    // а новая таблица при загрузке строится отдельно и подменяет текущую только по завершении
+    private <T> void runInBackground(Task<T> task, Consumer<T> onSuccess) {
+        controls.setDisable(true);
+        cancelButton.setDisable(false);
+        cancelButton.setOnAction(e -> task.cancel());
+        progressBar.progressProperty().bind(task.progressProperty());
+        statusLabel.textProperty().bind(task.messageProperty());
+        task.setOnSucceeded(e -> {
+            finishTask();
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnCancelled(e -> {
+            finishTask();
+            statusLabel.setText("Cancelled");
+        });
+        task.setOnFailed(e -> {
+            finishTask();
+            statusLabel.setText("Failed: " + task.getException());
+        });
+        Thread thread = new Thread(task, "hash-table-task");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void finishTask() {
+        progressBar.progressProperty().unbind();
+        statusLabel.textProperty().unbind();
+        controls.setDisable(false);
+        cancelButton.setDisable(true);
+    }
+
+    // Строки вида "ключ<TAB>значение" или "ключ,значение"; прогресс считается по обработанным частям файла
+    private static Task<HashTable<String, Integer>> loadText(Path path, HashTable.CollisionResolution resolution) {
+        return new Task<>() {
+            @Override
+            protected HashTable<String, Integer> call() throws Exception {
+                long total = Math.max(1, Files.size(path));
+                HashTable<String, Integer> table = new HashTable<>();
+                table.setCollisionResolution(resolution);
+                HashTableText.load(path, table, Codec.utf8(), Codec.decimalIntegers(), true, bytes -> {
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    updateProgress(Math.min(bytes, total), total);
+                    updateMessage("Loaded " + table.size() + " entries");
+                });
+                updateProgress(total, total);
+                updateMessage("Loaded " + table.size() + " entries from " + path.getFileName());
+                return table;
+            }
+        };
+    }
+
+    private static Task<HashTable<String, Integer>> loadSnapshot(Path path) {
+        return new Task<>() {
+            @Override
+            protected HashTable<String, Integer> call() throws Exception {
+                updateProgress(-1, 1);
+                updateMessage("Loading " + path.getFileName());
+                HashTable<String, Integer> table = HashTableSnapshot.load(path, Codec.utf8(), Codec.integers());
+                updateProgress(1, 1);
+                updateMessage("Loaded " + table.size() + " entries from " + path.getFileName());
+                return table;
+            }
+        };
+    }
+
+    // Полный обход таблицы курсором; таблица во время поиска не меняется, так как кнопки заблокированы
+    private Task<String> findKeys(String fragment) {
+        HashTable<String, Integer> table = hashTable;
+        table.finishResize();
+        return new Task<>() {
+            @Override
+            protected String call() {
+                int total = table.size();
+                int visited = 0;
+                int found = 0;
+                StringBuilder sb = new StringBuilder();
+                HashTable.Cursor<String, Integer> cursor = table.cursor();
+                while (cursor.advance()) {
+                    if (cursor.key().contains(fragment) && found++ < MAX_FOUND) {
+                        sb.append(cursor.key()).append(" = ").append(cursor.value()).append('\n');
+                    }
+                    if (++visited % PROGRESS_STEP == 0) {
+                        if (isCancelled()) {
+                            return null;
+                        }
+                        updateProgress(visited, total);
+                        updateMessage("Scanned " + visited + " of " + total);
+                    }
+                }
+                updateProgress(total, total);
+                updateMessage("Found " + found + " keys containing \"" + fragment + "\"");
+                return found > MAX_FOUND ? sb.append("... ").append(found - MAX_FOUND).append(" more").toString() : sb.toString();
+            }
+        };
+    }
+
+    // Номера корзин 0..size-1 без хранения самих чисел
+    private static final class BucketList extends ObservableListBase<Integer> {
+        private final int size;
+
+        BucketList(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return Objects.checkIndex(index, size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        // Замена строки самой собой: ListView перерисует только эту ячейку, если она видна
+        void changed(int index) {
+            beginChange();
+            nextSet(index, index);
+            endChange();
+        }
     }
 
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
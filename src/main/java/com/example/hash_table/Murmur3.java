@@ -0,0 +1,79 @@
+package com.example.hash_table;
+
+// 32-битный MurmurHash3 (x86_32)
+final class Murmur3 {
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private Murmur3() {
+    }
+
+    static int hashBytes(byte[] data, int offset, int length, int seed) {
+        int h = seed;
+        int end = offset + (length & ~3);
+        for (int i = offset; i < end; i += 4) {
+            int k = (data[i] & 0xff)
+                    | (data[i + 1] & 0xff) << 8
+                    | (data[i + 2] & 0xff) << 16
+                    | (data[i + 3] & 0xff) << 24;
+            h = mixH(h, mixK(k));
+        }
+
+        int k = 0;
+        switch (length & 3) {
+            case 3:
+                k ^= (data[end + 2] & 0xff) << 16;
+            case 2:
+                k ^= (data[end + 1] & 0xff) << 8;
+            case 1:
+                k ^= data[end] & 0xff;
+                h ^= mixK(k);
+        }
+        return fmix(h ^ length);
+    }
+
+    // Два символа UTF-16 на блок из 4 байт
+    static int hashChars(CharSequence data, int seed) {
+        int h = seed;
+        int length = data.length();
+        int i = 1;
+        for (; i < length; i += 2) {
+            int k = data.charAt(i - 1) | (data.charAt(i) << 16);
+            h = mixH(h, mixK(k));
+        }
+        if (i == length) {
+            h ^= mixK(data.charAt(i - 1));
+        }
+        return fmix(h ^ (length << 1));
+    }
+
+    static int mixK(int k) {
+        k *= C1;
+        k = Integer.rotateLeft(k, 15);
+        return k * C2;
+    }
+
+    static int mixH(int h, int k) {
+        h ^= k;
+        h = Integer.rotateLeft(h, 13);
+        return h * 5 + 0xe6546b64;
+    }
+
+    static int fmix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+
+// Значения-объекты для IntObjectHashTable и LongObjectHashTable поверх пробирования PrimitiveKeyHashTable
+abstract class ObjectValueHashTable<V> extends PrimitiveKeyHashTable {
+    private Object[] values;
+
+    ObjectValueHashTable(int expectedSize) {
+        super(expectedSize);
+    }
+
+    @Override
+    final void allocateValues(int capacity) {
+        values = new Object[capacity + 1];
+    }
+
+    @Override
+    final void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    final void clearValue(int index) {
+        values[index] = null;
+    }
+
+    @Override
+    final void clearValues() {
+        Arrays.fill(values, null);
+    }
+
+    // Для rehash подкласса: массив значений до allocate
+    final Object[] values() {
+        return values;
+    }
+
+    final void setValue(int index, Object value) {
+        values[index] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    final V getValue(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    final void putValue(long key, V value) {
+        int index = insertionIndex(key);
+        values[index] = value;
+    }
+}
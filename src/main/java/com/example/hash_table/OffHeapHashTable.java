@@ -0,0 +1,380 @@
+package com.example.hash_table;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+// Хеш-таблица byte[] -> byte[], данные которой лежат вне кучи Java, в прямых (direct) буферах.
+// Индекс - открытая адресация с линейным пробированием по массиву 8-байтных ячеек
+// (24 бита метки хеша + 40 бит смещения записи). Записи [хеш, длина ключа, длина значения,
+// ёмкость значения, ключ, значение] дописываются в арену из блоков до CHUNK_SIZE байт;
+// последний блок растёт перевыделением с копированием. Место удалённых записей
+// возвращается при уплотнении арены.
+// close() только отпускает ссылки на буферы: у прямых буферов нет публичного способа освободить память
+// немедленно, она возвращается при сборке мусора, которая найдёт недостижимые буферы (так же, как буферы,
+// заменённые при росте блока и перестройке индекса). После close() таблица не используется.
+// Прямые буферы не занимают кучу, но учитываются в лимите -XX:MaxDirectMemorySize, который
+// по умолчанию равен наибольшему размеру кучи (-Xmx); для больших таблиц его нужно задавать явно.
+public class OffHeapHashTable implements AutoCloseable {
+    private static final int SLOT_BYTES = 8;
+    private static final int PAGE_SHIFT = 20;
+    private static final int PAGE_SLOTS = 1 << PAGE_SHIFT;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int CHUNK_SHIFT = 26;
+    // Наибольший размер блока арены и одной записи
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int INITIAL_CHUNK_SIZE = 1 << 12;
+    private static final int HEADER_BYTES = 16;
+    // Уплотнять арену, только когда мусора больше, чем этот порог и больше живых данных
+    private static final long MIN_GARBAGE_TO_COMPACT = 1 << 16;
+
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1L;
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int SEED = 0x9747b28c;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private ByteBuffer[] index;
+    private int capacity;
+    private int size;
+    private int tombstones;
+
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private long arenaEnd;
+    private long liveBytes;
+    private boolean closed;
+
+    public OffHeapHashTable() {
+        this(0);
+    }
+
+    public OffHeapHashTable(int expectedSize) {
+        index = allocateIndex(PrimitiveKeyHashTable.capacityFor(expectedSize));
+    }
+
+    private ByteBuffer[] allocateIndex(int newCapacity) {
+        capacity = newCapacity;
+        int pages = Math.max(1, newCapacity >>> PAGE_SHIFT);
+        ByteBuffer[] newIndex = new ByteBuffer[pages];
+        for (int i = 0; i < pages; i++) {
+            newIndex[i] = ByteBuffer.allocateDirect(Math.min(newCapacity, PAGE_SLOTS) * SLOT_BYTES);
+        }
+        return newIndex;
+    }
+
+    private static long slot(ByteBuffer[] index, int i) {
+        return index[i >>> PAGE_SHIFT].getLong((i & (PAGE_SLOTS - 1)) * SLOT_BYTES);
+    }
+
+    private static void setSlot(ByteBuffer[] index, int i, long value) {
+        index[i >>> PAGE_SHIFT].putLong((i & (PAGE_SLOTS - 1)) * SLOT_BYTES, value);
+    }
+
+    private static int hash(byte[] key) {
+        return Murmur3.hashBytes(key, 0, key.length, SEED);
+    }
+
+    // Метка - другое перемешивание тех же 32 бит, чтобы не совпадать с битами индекса
+    private static long tag(int hash) {
+        return (hash * 0x9E3779B9) >>> 8;
+    }
+
+    private static long encode(int hash, long offset) {
+        return tag(hash) << OFFSET_BITS | (offset + 1);
+    }
+
+    private static long offsetOf(long slot) {
+        return (slot & OFFSET_MASK) - 1;
+    }
+
+    private ByteBuffer chunk(long offset) {
+        return chunks.get((int) (offset >>> CHUNK_SHIFT));
+    }
+
+    private static int position(long offset) {
+        return (int) (offset & (CHUNK_SIZE - 1));
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Table is closed");
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getTableSize() {
+        return capacity;
+    }
+
+    // Объём памяти вне кучи: индекс и все блоки арены
+    public long getOffHeapBytes() {
+        checkOpen();
+        long bytes = 0;
+        for (ByteBuffer page : index) {
+            bytes += page.capacity();
+        }
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    // Номер ячейки с ключом или -1
+    private int find(byte[] key, int hash) {
+        long tag = tag(hash);
+        int mask = capacity - 1;
+        int i = hash & mask;
+        while (true) {
+            long slot = slot(index, i);
+            if (slot == EMPTY) {
+                return -1;
+            }
+            if (slot != TOMBSTONE && slot >>> OFFSET_BITS == tag && keyEquals(offsetOf(slot), hash, key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private boolean keyEquals(long offset, int hash, byte[] key) {
+        ByteBuffer chunk = chunk(offset);
+        int pos = position(offset);
+        if (chunk.getInt(pos) != hash || chunk.getInt(pos + 4) != key.length) {
+            return false;
+        }
+        pos += HEADER_BYTES;
+        int i = 0;
+        for (; i + 8 <= key.length; i += 8) {
+            if (chunk.getLong(pos + i) != (long) LONGS.get(key, i)) {
+                return false;
+            }
+        }
+        for (; i < key.length; i++) {
+            if (chunk.get(pos + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public byte[] get(byte[] key) {
+        checkOpen();
+        int i = find(key, hash(key));
+        if (i < 0) {
+            return null;
+        }
+        long offset = offsetOf(slot(index, i));
+        ByteBuffer chunk = chunk(offset);
+        int pos = position(offset);
+        byte[] value = new byte[chunk.getInt(pos + 8)];
+        chunk.get(pos + HEADER_BYTES + chunk.getInt(pos + 4), value);
+        return value;
+    }
+
+    public boolean containsKey(byte[] key) {
+        checkOpen();
+        return find(key, hash(key)) >= 0;
+    }
+
+    public void put(byte[] key, byte[] value) {
+        checkOpen();
+        int hash = hash(key);
+        long tag = tag(hash);
+        int mask = capacity - 1;
+        int i = hash & mask;
+        int firstTombstone = -1;
+        while (true) {
+            long slot = slot(index, i);
+            if (slot == EMPTY) {
+                break;
+            }
+            if (slot == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = i;
+                }
+            } else if (slot >>> OFFSET_BITS == tag && keyEquals(offsetOf(slot), hash, key)) {
+                replaceValue(i, offsetOf(slot), hash, key, value);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (firstTombstone >= 0) {
+            i = firstTombstone;
+            tombstones--;
+        }
+        setSlot(index, i, encode(hash, append(hash, key, value)));
+        size++;
+        if (size + tombstones >= HashTable.LOAD_FACTOR * capacity) {
+            rebuild(size >= HashTable.LOAD_FACTOR * capacity / 2 ? 2 * capacity : capacity, false);
+        }
+    }
+
+    private void replaceValue(int i, long offset, int hash, byte[] key, byte[] value) {
+        ByteBuffer chunk = chunk(offset);
+        int pos = position(offset);
+        int valueCapacity = chunk.getInt(pos + 12);
+        if (value.length <= valueCapacity) {
+            chunk.putInt(pos + 8, value.length);
+            chunk.put(pos + HEADER_BYTES + key.length, value);
+            return;
+        }
+        liveBytes -= HEADER_BYTES + key.length + valueCapacity;
+        setSlot(index, i, encode(hash, append(hash, key, value)));
+        compactIfNeeded();
+    }
+
+    public void remove(byte[] key) {
+        checkOpen();
+        int i = find(key, hash(key));
+        if (i < 0) {
+            return;
+        }
+        long offset = offsetOf(slot(index, i));
+        ByteBuffer chunk = chunk(offset);
+        int pos = position(offset);
+        liveBytes -= HEADER_BYTES + chunk.getInt(pos + 4) + chunk.getInt(pos + 12);
+        size--;
+        if (slot(index, (i + 1) & (capacity - 1)) == EMPTY) {
+            setSlot(index, i, EMPTY);
+        } else {
+            setSlot(index, i, TOMBSTONE);
+            tombstones++;
+        }
+
+        if (tombstones > capacity / 4) {
+            rebuild(capacity, false);
+        }
+        compactIfNeeded();
+    }
+
+    public void clear() {
+        checkOpen();
+        index = allocateIndex(capacity);
+        chunks = new ArrayList<>();
+        arenaEnd = 0;
+        liveBytes = 0;
+        size = 0;
+        tombstones = 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        index = null;
+        chunks = null;
+        size = 0;
+    }
+
+    private long append(int hash, byte[] key, byte[] value) {
+        return append(hash, key, value, value.length);
+    }
+
+    // Дописывает запись в конец арены и возвращает её смещение
+    private long append(int hash, byte[] key, byte[] value, int valueCapacity) {
+        int length = HEADER_BYTES + key.length + valueCapacity;
+        long offset = reserve(length);
+        ByteBuffer chunk = chunk(offset);
+        int pos = position(offset);
+        chunk.putInt(pos, hash);
+        chunk.putInt(pos + 4, key.length);
+        chunk.putInt(pos + 8, value.length);
+        chunk.putInt(pos + 12, valueCapacity);
+        chunk.put(pos + HEADER_BYTES, key);
+        chunk.put(pos + HEADER_BYTES + key.length, value);
+        liveBytes += length;
+        return offset;
+    }
+
+    private long reserve(int length) {
+        if (length > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Entry of " + length + " bytes exceeds " + CHUNK_SIZE);
+        }
+        int pos = position(arenaEnd);
+        if (pos + length > CHUNK_SIZE || (pos == 0 && arenaEnd >>> CHUNK_SHIFT == chunks.size())) {
+            // Запись не помещается в текущий блок: начинаем следующий
+            if (pos != 0) {
+                arenaEnd = ((arenaEnd >>> CHUNK_SHIFT) + 1) << CHUNK_SHIFT;
+            }
+            chunks.add(ByteBuffer.allocateDirect(Math.max(INITIAL_CHUNK_SIZE, Integer.highestOneBit(length - 1) << 1)));
+            pos = 0;
+        }
+        ByteBuffer chunk = chunks.get(chunks.size() - 1);
+        if (pos + length > chunk.capacity()) {
+            // Последний блок растёт перевыделением до CHUNK_SIZE
+            int newSize = chunk.capacity();
+            while (newSize < pos + length) {
+                newSize <<= 1;
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.min(newSize, CHUNK_SIZE));
+            grown.put(0, chunk, 0, pos);
+            chunks.set(chunks.size() - 1, grown);
+        }
+        long offset = arenaEnd;
+        arenaEnd += length;
+        return offset;
+    }
+
+    private void compactIfNeeded() {
+        long garbage = arenaEnd - liveBytes;
+        if (garbage > MIN_GARBAGE_TO_COMPACT && garbage > liveBytes) {
+            rebuild(capacity, true);
+        }
+    }
+
+    // Перестройка индекса под новую ёмкость; при compact живые записи переписываются в новую арену подряд
+    private void rebuild(int newCapacity, boolean compact) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full");
+        }
+        ByteBuffer[] oldIndex = index;
+        int oldCapacity = capacity;
+        List<ByteBuffer> oldChunks = chunks;
+        if (compact) {
+            chunks = new ArrayList<>();
+            arenaEnd = 0;
+            liveBytes = 0;
+        }
+
+        index = allocateIndex(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            long slot = slot(oldIndex, i);
+            if (slot == EMPTY || slot == TOMBSTONE) {
+                continue;
+            }
+            long offset = offsetOf(slot);
+            ByteBuffer chunk = oldChunks.get((int) (offset >>> CHUNK_SHIFT));
+            int pos = position(offset);
+            int hash = chunk.getInt(pos);
+            if (compact) {
+                int length = HEADER_BYTES + chunk.getInt(pos + 4) + chunk.getInt(pos + 12);
+                offset = reserve(length);
+                chunk(offset).put(position(offset), chunk, pos, length);
+                liveBytes += length;
+                slot = encode(hash, offset);
+            }
+            int j = hash & mask;
+            while (slot(index, j) != EMPTY) {
+                j = (j + 1) & mask;
+            }
+            setSlot(index, j, slot);
+        }
+        tombstones = 0;
+    }
+}
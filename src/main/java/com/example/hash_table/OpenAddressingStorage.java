@@ -0,0 +1,396 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+// Открытая адресация с линейным пробированием: ключи, значения и хеши ключей лежат в параллельных массивах,
+// удалённые ячейки помечаются "надгробием", чтобы не разрывать цепочки проб. Ключи сравниваются equals
+// только при совпадении хешей, а при перестройке хеши не вычисляются заново.
+// Доступ по номеру ячейки (find, probe, insertAt, removeAt и т.д.) нужен BoundedCache, который хранит
+// биты обращения и веса в своих массивах, параллельных ячейкам этого хранилища
+class OpenAddressingStorage<K, V> extends Storage<K, V> {
+    private static final Object TOMBSTONE = new Object();
+    // Доля "надгробий", после которой таблица уплотняется без увеличения размера
+    private static final double TOMBSTONE_FACTOR = 0.25;
+
+    private final Object[] keys;
+    private final Object[] values;
+    private final int[] hashes;
+    private int size;
+    private int tombstones;
+
+    OpenAddressingStorage(int capacity, HashStrategy<? super K> strategy, double loadFactor) {
+        super(strategy, loadFactor);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+    }
+
+    @Override
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    int tombstones() {
+        return tombstones;
+    }
+
+    // Индекс ячейки с ключом или -1, если ключа нет
+    @SuppressWarnings("unchecked")
+    int find(K key, int hash) {
+        int index = hash & (keys.length - 1);
+        for (int probes = 1; probes <= keys.length; probes++) {
+            Object k = keys[index];
+            if (k == null) {
+                if (statistics != null) {
+                    statistics.recordProbe(probes);
+                }
+                return -1;
+            }
+            if (k != TOMBSTONE && hashes[index] == hash && strategy.equals((K) k, key)) {
+                if (statistics != null) {
+                    statistics.recordProbe(probes);
+                }
+                return index;
+            }
+            index = next(index);
+        }
+        return -1;
+    }
+
+    private int next(int index) {
+        return index + 1 == keys.length ? 0 : index + 1;
+    }
+
+    boolean isOccupied(int index) {
+        Object k = keys[index];
+        return k != null && k != TOMBSTONE;
+    }
+
+    @SuppressWarnings("unchecked")
+    K keyAt(int index) {
+        return (K) keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    void setValueAt(int index, V value) {
+        values[index] = value;
+    }
+
+    int hashAt(int index) {
+        return hashes[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V get(K key, int hash) {
+        int index = find(key, hash);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V getOrDefault(K key, int hash, V defaultValue) {
+        int index = find(key, hash);
+        return index < 0 ? defaultValue : (V) values[index];
+    }
+
+    @Override
+    boolean containsKey(K key, int hash) {
+        return find(key, hash) >= 0;
+    }
+
+    // Индекс ячейки с ключом или -(ячейка для вставки) - 1: первое "надгробие" на пути проб или пустая ячейка
+    @SuppressWarnings("unchecked")
+    int probe(K key, int hash) {
+        int index = hash & (keys.length - 1);
+        int firstTombstone = -1;
+        int probes = 1;
+        for (; probes <= keys.length; probes++) {
+            Object k = keys[index];
+            if (k == null) {
+                break;
+            }
+            if (k == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = index;
+                }
+            } else if (hashes[index] == hash && strategy.equals((K) k, key)) {
+                if (statistics != null) {
+                    statistics.recordProbe(probes);
+                }
+                return index;
+            }
+            index = next(index);
+        }
+        if (statistics != null) {
+            statistics.recordProbe(probes);
+            statistics.recordOccupancy(probes);
+        }
+        return -(firstTombstone >= 0 ? firstTombstone : index) - 1;
+    }
+
+    void insertAt(int index, K key, int hash, V value) {
+        if (keys[index] == TOMBSTONE) {
+            tombstones--;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V put(K key, int hash, V value) {
+        int index = probe(key, hash);
+        if (index < 0) {
+            insertAt(-index - 1, key, hash, value);
+            return null;
+        }
+        V old = (V) values[index];
+        values[index] = value;
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(K key, int hash, V value) {
+        int index = probe(key, hash);
+        if (index < 0) {
+            insertAt(-index - 1, key, hash, value);
+            return null;
+        }
+        return (V) values[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int index = probe(key, hash);
+        V value = remappingFunction.apply(key, index < 0 ? null : (V) values[index]);
+        if (index < 0) {
+            if (value != null) {
+                insertAt(-index - 1, key, hash, value);
+            }
+        } else if (value != null) {
+            values[index] = value;
+        } else {
+            removeAt(index);
+        }
+        return value;
+    }
+
+    // Пробирование идёт вперёд от корзины ключа, которая уже не меньше from. При to >= 0 оно не переходит
+    // через конец массива к началу и останавливается перед ячейкой to; to < 0 - обычная вставка без ограничений
+    @Override
+    @SuppressWarnings("unchecked")
+    int putInRange(K key, int hash, V value, int from, int to) {
+        int index = hash & (keys.length - 1);
+        int firstTombstone = -1;
+        int probes = 1;
+        for (; probes <= keys.length; probes++) {
+            Object k = keys[index];
+            if (k == null) {
+                break;
+            }
+            if (k == TOMBSTONE) {
+                // При вставке по диапазонам счётчик "надгробий" общий для задач, поэтому они не переиспользуются
+                if (firstTombstone < 0 && to < 0) {
+                    firstTombstone = index;
+                }
+            } else if (hashes[index] == hash && strategy.equals((K) k, key)) {
+                values[index] = value;
+                if (statistics != null) {
+                    statistics.recordProbe(probes);
+                }
+                return 0;
+            }
+            if (index + 1 == to) {
+                return -1;
+            }
+            index = next(index);
+        }
+        if (statistics != null) {
+            statistics.recordProbe(probes);
+            statistics.recordOccupancy(probes);
+        }
+
+        if (firstTombstone >= 0) {
+            index = firstTombstone;
+            tombstones--;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        return 1;
+    }
+
+    @Override
+    void addToSize(int delta) {
+        size += delta;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V remove(K key, int hash) {
+        int index = find(key, hash);
+        if (index < 0) {
+            return null;
+        }
+        V old = (V) values[index];
+        removeAt(index);
+        return old;
+    }
+
+    void removeAt(int index) {
+        values[index] = null;
+        size--;
+        if (keys[next(index)] == null) {
+            // За ячейкой цепочка проб обрывается - "надгробие" не нужно, заодно убираем предшествующие
+            keys[index] = null;
+            int prev = index == 0 ? keys.length - 1 : index - 1;
+            while (keys[prev] == TOMBSTONE) {
+                keys[prev] = null;
+                tombstones--;
+                prev = prev == 0 ? keys.length - 1 : prev - 1;
+            }
+        } else {
+            keys[index] = TOMBSTONE;
+            tombstones++;
+        }
+    }
+
+    @Override
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        tombstones = 0;
+    }
+
+    @Override
+    boolean needsResize() {
+        return size + tombstones >= loadFactor * keys.length
+                || tombstones > TOMBSTONE_FACTOR * keys.length;
+    }
+
+    @Override
+    Storage<K, V> createResized() {
+        // Если место занято в основном "надгробиями", достаточно уплотнить таблицу того же размера
+        int capacity = size >= loadFactor * keys.length / 2 ? 2 * keys.length : keys.length;
+        return new OpenAddressingStorage<>(capacity, strategy, loadFactor);
+    }
+
+    @Override
+    void insertNew(K key, int hash, V value) {
+        place(key, hash, value);
+    }
+
+    // Ключа заведомо нет, поэтому достаточно дойти до первой пустой ячейки; возвращает занятую ячейку
+    int place(K key, int hash, V value) {
+        int index = indexFor(hash);
+        while (keys[index] != null) {
+            index = next(index);
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        size++;
+        return index;
+    }
+
+    // Перенесённая ячейка становится "надгробием", чтобы поиск в старой таблице продолжал работать
+    @Override
+    @SuppressWarnings("unchecked")
+    void transferBucket(int index, Storage<K, V> target) {
+        Object k = keys[index];
+        if (k != null && k != TOMBSTONE) {
+            target.insertNew((K) k, hashes[index], (V) values[index]);
+            keys[index] = TOMBSTONE;
+            values[index] = null;
+            tombstones++;
+            size--;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void forEachInBucket(int index, BiConsumer<? super K, ? super V> action) {
+        Object k = keys[index];
+        if (k != null && k != TOMBSTONE) {
+            action.accept((K) k, (V) values[index]);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    List<HashTable.Node<K, V>>[] toBucketArray() {
+        List<HashTable.Node<K, V>>[] buckets = new List[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Object k = keys[i];
+            if (k != null && k != TOMBSTONE) {
+                buckets[i] = List.of(new HashTable.Node<>((K) k, (V) values[i], hashes[i]));
+            }
+        }
+        return buckets;
+    }
+
+    @Override
+    int count(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (keys[i] != null && keys[i] != TOMBSTONE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    Cursor<K, V> cursor(int from, int to) {
+        return new Cursor<>() {
+            private int index = from - 1;
+
+            @Override
+            public boolean advance() {
+                while (++index < to) {
+                    Object k = keys[index];
+                    if (k != null && k != TOMBSTONE) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K key() {
+                return (K) keys[index];
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V value() {
+                return (V) values[index];
+            }
+
+            @Override
+            public int hash() {
+                return hashes[index];
+            }
+        };
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+// Параллельные операции над хранилищем в общем пуле fork-join. Задачи делят таблицу на непересекающиеся
+// диапазоны корзин, поэтому блокировки не нужны; хранилище не должно меняться извне во время операции.
+final class ParallelBulk {
+    // Сколько участков таблицы приходится на один поток пула при параллельной вставке
+    private static final int REGIONS_PER_THREAD = 8;
+
+    private ParallelBulk() {
+    }
+
+    private static long estimate(Storage<?, ?> storage, int from, int to) {
+        return (long) storage.size() * (to - from) / storage.capacity();
+    }
+
+    static <K, V> void forEach(Storage<K, V> storage, long parallelismThreshold,
+                               BiConsumer<? super K, ? super V> action) {
+        ForkJoinPool.commonPool().invoke(new ForEachTask<>(storage, 0, storage.capacity(), parallelismThreshold, action));
+    }
+
+    static <K, V, U> U reduce(Storage<K, V> storage, long parallelismThreshold,
+                              BiFunction<? super K, ? super V, ? extends U> transformer,
+                              BiFunction<? super U, ? super U, ? extends U> reducer) {
+        return ForkJoinPool.commonPool().invoke(
+                new ReduceTask<>(storage, 0, storage.capacity(), parallelismThreshold, transformer, reducer));
+    }
+
+    // Задачи fork-join наследуют Serializable, но никогда не сериализуются
+    @SuppressWarnings("serial")
+    private static final class ForEachTask<K, V> extends RecursiveAction {
+        private final Storage<K, V> storage;
+        private final int from;
+        private final int to;
+        private final long threshold;
+        private final BiConsumer<? super K, ? super V> action;
+
+        ForEachTask(Storage<K, V> storage, int from, int to, long threshold, BiConsumer<? super K, ? super V> action) {
+            this.storage = storage;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && estimate(storage, from, to) > threshold) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ForEachTask<>(storage, from, mid, threshold, action),
+                        new ForEachTask<>(storage, mid, to, threshold, action));
+                return;
+            }
+            Storage.Cursor<K, V> cursor = storage.cursor(from, to);
+            while (cursor.advance()) {
+                action.accept(cursor.key(), cursor.value());
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ReduceTask<K, V, U> extends RecursiveTask<U> {
+        private final Storage<K, V> storage;
+        private final int from;
+        private final int to;
+        private final long threshold;
+        private final BiFunction<? super K, ? super V, ? extends U> transformer;
+        private final BiFunction<? super U, ? super U, ? extends U> reducer;
+
+        ReduceTask(Storage<K, V> storage, int from, int to, long threshold,
+                   BiFunction<? super K, ? super V, ? extends U> transformer,
+                   BiFunction<? super U, ? super U, ? extends U> reducer) {
+            this.storage = storage;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.transformer = transformer;
+            this.reducer = reducer;
+        }
+
+        @Override
+        protected U compute() {
+            if (to - from > 1 && estimate(storage, from, to) > threshold) {
+                int mid = (from + to) >>> 1;
+                ReduceTask<K, V, U> right = new ReduceTask<>(storage, mid, to, threshold, transformer, reducer);
+                right.fork();
+                U left = new ReduceTask<>(storage, from, mid, threshold, transformer, reducer).compute();
+                return combine(left, right.join());
+            }
+            U result = null;
+            Storage.Cursor<K, V> cursor = storage.cursor(from, to);
+            while (cursor.advance()) {
+                result = combine(result, transformer.apply(cursor.key(), cursor.value()));
+            }
+            return result;
+        }
+
+        // null означает "нет значения", как в ConcurrentHashMap.reduce
+        private U combine(U left, U right) {
+            if (left == null) {
+                return right;
+            }
+            return right == null ? left : reducer.apply(left, right);
+        }
+    }
+
+    // Вставка пакета: ключи распределяются сортировкой подсчётом по участкам таблицы (диапазонам корзин),
+    // каждый участок заполняет своя задача. Возвращает номера элементов, которым при открытой адресации
+    // не хватило места в своём участке; их нужно вставить последовательно в возвращённом порядке.
+    @SuppressWarnings("unchecked")
+    static <K, V> int[] putAll(Storage<K, V> storage, Object[] keys, Object[] values) {
+        int[] hashes = new int[keys.length];
+        Arrays.parallelSetAll(hashes, i -> storage.strategy.hash((K) keys[i]));
+
+        int bits = Integer.numberOfTrailingZeros(storage.capacity());
+        int wanted = ForkJoinPool.getCommonPoolParallelism() * REGIONS_PER_THREAD;
+        int regionBits = Math.min(bits, 32 - Integer.numberOfLeadingZeros(wanted - 1));
+        int shift = bits - regionBits;
+
+        int[] starts = new int[(1 << regionBits) + 1];
+        for (int hash : hashes) {
+            starts[(storage.indexFor(hash) >>> shift) + 1]++;
+        }
+        for (int region = 1; region < starts.length; region++) {
+            starts[region] += starts[region - 1];
+        }
+        int[] next = Arrays.copyOf(starts, starts.length - 1);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[next[storage.indexFor(hashes[i]) >>> shift]++] = i;
+        }
+
+        int[] inserted = new int[1 << regionBits];
+        int[] overflowed = new int[1 << regionBits];
+        ForkJoinPool.commonPool().invoke(new RegionTask<>(storage, keys, values, hashes, order, starts, shift,
+                inserted, overflowed, 0, 1 << regionBits));
+
+        int added = 0;
+        int overflowCount = 0;
+        for (int region = 0; region < inserted.length; region++) {
+            added += inserted[region];
+            overflowCount += overflowed[region];
+        }
+        storage.addToSize(added);
+
+        int[] overflow = new int[overflowCount];
+        int position = 0;
+        for (int region = 0; region < overflowed.length; region++) {
+            System.arraycopy(order, starts[region], overflow, position, overflowed[region]);
+            position += overflowed[region];
+        }
+        return overflow;
+    }
+
+    @SuppressWarnings("serial")
+    private static final class RegionTask<K, V> extends RecursiveAction {
+        private final Storage<K, V> storage;
+        private final Object[] keys;
+        private final Object[] values;
+        private final int[] hashes;
+        private final int[] order;
+        private final int[] starts;
+        private final int shift;
+        private final int[] inserted;
+        private final int[] overflowed;
+        private final int from;
+        private final int to;
+
+        RegionTask(Storage<K, V> storage, Object[] keys, Object[] values, int[] hashes, int[] order, int[] starts,
+                   int shift, int[] inserted, int[] overflowed, int from, int to) {
+            this.storage = storage;
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.order = order;
+            this.starts = starts;
+            this.shift = shift;
+            this.inserted = inserted;
+            this.overflowed = overflowed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RegionTask<>(storage, keys, values, hashes, order, starts, shift, inserted, overflowed, from, mid),
+                        new RegionTask<>(storage, keys, values, hashes, order, starts, shift, inserted, overflowed, mid, to));
+                return;
+            }
+            insertRegion(from);
+        }
+
+        // Не поместившиеся элементы сдвигаются в начало своего отрезка order с сохранением порядка
+        @SuppressWarnings("unchecked")
+        private void insertRegion(int region) {
+            int from = region << shift;
+            int to = (region + 1) << shift;
+            int added = 0;
+            int overflow = starts[region];
+            for (int j = starts[region]; j < starts[region + 1]; j++) {
+                int i = order[j];
+                int result = storage.putInRange((K) keys[i], hashes[i], (V) values[i], from, to);
+                if (result < 0) {
+                    order[overflow++] = i;
+                } else {
+                    added += result;
+                }
+            }
+            inserted[region] = added;
+            overflowed[region] = overflow - starts[region];
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// Неизменяемая хеш-таблица - префиксное дерево по битам хеша (hash array mapped trie, Bagwell; раскладка узлов
+// как в CHAMP, Steindorfer и Vinju). Каждый уровень берёт BITS бит хеша; узел хранит битовые маски занятых
+// позиций и плотные массивы элементов и дочерних узлов, так что пустые позиции памяти не занимают.
+// put и remove возвращают новую версию, копируя только узлы на пути от корня (O(log32 n)), остальное дерево
+// общее со старой версией. Все поля узлов final, поэтому версию можно передать другим потокам без блокировок.
+public final class PersistentHashTable<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // Хеш из 32 бит исчерпывается на глубине 7; дальше ключи с одинаковым хешем лежат в CollisionNode
+    private static final int MAX_DEPTH = (Integer.SIZE + BITS - 1) / BITS;
+    private static final Object NOT_FOUND = new Object();
+    private static final BitmapNode EMPTY_ROOT = new BitmapNode(0, 0, new int[0], new Object[0], new Object[0],
+            new TrieNode[0]);
+
+    private final HashStrategy<? super K> hashStrategy;
+    private final TrieNode root;
+    private final int size;
+
+    private PersistentHashTable(HashStrategy<? super K> hashStrategy, TrieNode root, int size) {
+        this.hashStrategy = hashStrategy;
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <K, V> PersistentHashTable<K, V> empty() {
+        return empty(HashStrategy.defaultStrategy());
+    }
+
+    public static <K, V> PersistentHashTable<K, V> empty(HashStrategy<? super K> hashStrategy) {
+        return new PersistentHashTable<>(hashStrategy, EMPTY_ROOT, 0);
+    }
+
+    // Уровни дерева берут хеш по 5 бит начиная с младших; перемешивание не даёт плохой стратегии
+    // (например, ключам, кратным 1024) вытянуть дерево в цепочку узлов с одним потомком
+    private static int spread(int hash) {
+        return Murmur3.fmix(hash);
+    }
+
+    public HashStrategy<? super K> getHashStrategy() {
+        return hashStrategy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    public boolean containsKey(K key) {
+        return find(key, spread(hashStrategy.hash(key))) != NOT_FOUND;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        Object value = find(key, spread(hashStrategy.hash(key)));
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    // Спуск без рекурсии: на каждом уровне одна проверка масок и один подсчёт единичных бит
+    @SuppressWarnings("unchecked")
+    private Object find(K key, int hash) {
+        TrieNode node = root;
+        for (int shift = 0; node instanceof BitmapNode bitmapNode; shift += BITS) {
+            int bit = bitpos(hash, shift);
+            if ((bitmapNode.dataMap & bit) != 0) {
+                int i = index(bitmapNode.dataMap, bit);
+                return bitmapNode.hashes[i] == hash && hashStrategy.equals((K) bitmapNode.keys[i], key)
+                        ? bitmapNode.values[i] : NOT_FOUND;
+            }
+            if ((bitmapNode.nodeMap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            node = bitmapNode.nodes[index(bitmapNode.nodeMap, bit)];
+        }
+        CollisionNode collisionNode = (CollisionNode) node;
+        if (collisionNode.hash == hash) {
+            for (int i = 0; i < collisionNode.keys.length; i++) {
+                if (hashStrategy.equals((K) collisionNode.keys[i], key)) {
+                    return collisionNode.values[i];
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    // Новая версия, в которой key отображается в value; если значение то же самое, возвращается эта версия
+    public PersistentHashTable<K, V> put(K key, V value) {
+        return put(key, hashStrategy.hash(key), value);
+    }
+
+    // hash - хеш ключа по стратегии таблицы
+    PersistentHashTable<K, V> put(K key, int hash, V value) {
+        Change change = new Change();
+        TrieNode newRoot = root.put(key, spread(hash), value, 0, hashStrategy, change);
+        return newRoot == root ? this : new PersistentHashTable<>(hashStrategy, newRoot, size + change.sizeDelta);
+    }
+
+    // Новая версия без key; если ключа не было, возвращается эта версия
+    public PersistentHashTable<K, V> remove(K key) {
+        return remove(key, hashStrategy.hash(key));
+    }
+
+    PersistentHashTable<K, V> remove(K key, int hash) {
+        Change change = new Change();
+        TrieNode newRoot = root.remove(key, spread(hash), 0, hashStrategy, change);
+        return newRoot == root ? this : new PersistentHashTable<>(hashStrategy, newRoot, size + change.sizeDelta);
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        HashTable.Cursor<K, V> cursor = cursor();
+        while (cursor.advance()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
+
+    // Обход в глубину с явным стеком: в каждом узле сначала его элементы, затем дочерние узлы
+    public HashTable.Cursor<K, V> cursor() {
+        return new HashTable.Cursor<>() {
+            private final TrieNode[] nodes = new TrieNode[MAX_DEPTH + 1];
+            // Для каждого уровня - номер следующего элемента, затем (после всех элементов) следующего потомка
+            private final int[] positions = new int[MAX_DEPTH + 1];
+            private int depth;
+            private Object[] keys;
+            private Object[] values;
+            private int current = -1;
+
+            {
+                nodes[0] = root;
+            }
+
+            @Override
+            public boolean advance() {
+                while (depth >= 0) {
+                    TrieNode node = nodes[depth];
+                    int position = positions[depth]++;
+                    int entries = node.entryCount();
+                    if (position < entries) {
+                        keys = node.keys;
+                        values = node.values;
+                        current = position;
+                        return true;
+                    }
+                    if (node instanceof BitmapNode bitmapNode && position - entries < bitmapNode.nodes.length) {
+                        depth++;
+                        nodes[depth] = bitmapNode.nodes[position - entries];
+                        positions[depth] = 0;
+                    } else {
+                        depth--;
+                    }
+                }
+                keys = null;
+                values = null;
+                return false;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K key() {
+                return (K) keys[current];
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V value() {
+                return (V) values[current];
+            }
+        };
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    // Изменение размера в результате put или remove
+    private static final class Change {
+        int sizeDelta;
+    }
+
+    private abstract static sealed class TrieNode permits BitmapNode, CollisionNode {
+        final Object[] keys;
+        final Object[] values;
+
+        TrieNode(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        int entryCount() {
+            return keys.length;
+        }
+
+        // Узел с единственным элементом и без потомков: после удаления родитель забирает элемент к себе
+        abstract boolean isSingleEntry();
+
+        abstract int singleHash();
+
+        abstract <K> TrieNode put(K key, int hash, Object value, int shift, HashStrategy<? super K> strategy,
+                                  Change change);
+
+        abstract <K> TrieNode remove(K key, int hash, int shift, HashStrategy<? super K> strategy, Change change);
+    }
+
+    private static final class BitmapNode extends TrieNode {
+        final int dataMap;
+        final int nodeMap;
+        final int[] hashes;
+        final TrieNode[] nodes;
+
+        BitmapNode(int dataMap, int nodeMap, int[] hashes, Object[] keys, Object[] values, TrieNode[] nodes) {
+            super(keys, values);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.hashes = hashes;
+            this.nodes = nodes;
+        }
+
+        @Override
+        boolean isSingleEntry() {
+            return nodeMap == 0 && keys.length == 1;
+        }
+
+        @Override
+        int singleHash() {
+            return hashes[0];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K> TrieNode put(K key, int hash, Object value, int shift, HashStrategy<? super K> strategy, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                if (hashes[i] == hash && strategy.equals((K) keys[i], key)) {
+                    if (values[i] == value) {
+                        return this;
+                    }
+                    Object[] newValues = values.clone();
+                    newValues[i] = value;
+                    return new BitmapNode(dataMap, nodeMap, hashes, keys, newValues, nodes);
+                }
+                // Позиция занята другим ключом: оба уходят на уровень ниже
+                change.sizeDelta = 1;
+                TrieNode child = pair(hashes[i], keys[i], values[i], hash, key, value, shift + BITS);
+                return withoutEntry(i, bit).withNode(bit, child);
+            }
+            if ((nodeMap & bit) != 0) {
+                int j = index(nodeMap, bit);
+                TrieNode child = nodes[j].put(key, hash, value, shift + BITS, strategy, change);
+                return child == nodes[j] ? this : withChild(j, child);
+            }
+            change.sizeDelta = 1;
+            return withEntry(index(dataMap, bit), bit, hash, key, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K> TrieNode remove(K key, int hash, int shift, HashStrategy<? super K> strategy, Change change) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int i = index(dataMap, bit);
+                if (hashes[i] != hash || !strategy.equals((K) keys[i], key)) {
+                    return this;
+                }
+                change.sizeDelta = -1;
+                return withoutEntry(i, bit);
+            }
+            if ((nodeMap & bit) != 0) {
+                int j = index(nodeMap, bit);
+                TrieNode child = nodes[j].remove(key, hash, shift + BITS, strategy, change);
+                if (child == nodes[j]) {
+                    return this;
+                }
+                if (child.isSingleEntry()) {
+                    // Поддерево из одного элемента поднимается в этот узел, чтобы дерево оставалось минимальным
+                    return withoutNode(j, bit).withEntry(index(dataMap, bit), bit, child.singleHash(),
+                            child.keys[0], child.values[0]);
+                }
+                return withChild(j, child);
+            }
+            return this;
+        }
+
+        private BitmapNode withEntry(int i, int bit, int hash, Object key, Object value) {
+            return new BitmapNode(dataMap | bit, nodeMap, insert(hashes, i, hash), insert(keys, i, key),
+                    insert(values, i, value), nodes);
+        }
+
+        private BitmapNode withoutEntry(int i, int bit) {
+            return new BitmapNode(dataMap & ~bit, nodeMap, delete(hashes, i), delete(keys, i), delete(values, i), nodes);
+        }
+
+        private BitmapNode withNode(int bit, TrieNode child) {
+            return new BitmapNode(dataMap, nodeMap | bit, hashes, keys, values,
+                    insert(nodes, index(nodeMap, bit), child));
+        }
+
+        private BitmapNode withoutNode(int j, int bit) {
+            return new BitmapNode(dataMap, nodeMap & ~bit, hashes, keys, values, delete(nodes, j));
+        }
+
+        private BitmapNode withChild(int j, TrieNode child) {
+            TrieNode[] newNodes = nodes.clone();
+            newNodes[j] = child;
+            return new BitmapNode(dataMap, nodeMap, hashes, keys, values, newNodes);
+        }
+    }
+
+    // Ключи с одинаковым хешем на глубине, где биты хеша закончились
+    private static final class CollisionNode extends TrieNode {
+        final int hash;
+
+        CollisionNode(int hash, Object[] keys, Object[] values) {
+            super(keys, values);
+            this.hash = hash;
+        }
+
+        @Override
+        boolean isSingleEntry() {
+            return keys.length == 1;
+        }
+
+        @Override
+        int singleHash() {
+            return hash;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K> TrieNode put(K key, int hash, Object value, int shift, HashStrategy<? super K> strategy, Change change) {
+            for (int i = 0; i < keys.length; i++) {
+                if (strategy.equals((K) keys[i], key)) {
+                    if (values[i] == value) {
+                        return this;
+                    }
+                    Object[] newValues = values.clone();
+                    newValues[i] = value;
+                    return new CollisionNode(this.hash, keys, newValues);
+                }
+            }
+            change.sizeDelta = 1;
+            return new CollisionNode(this.hash, insert(keys, keys.length, key), insert(values, values.length, value));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <K> TrieNode remove(K key, int hash, int shift, HashStrategy<? super K> strategy, Change change) {
+            for (int i = 0; i < keys.length; i++) {
+                if (strategy.equals((K) keys[i], key)) {
+                    change.sizeDelta = -1;
+                    return new CollisionNode(this.hash, delete(keys, i), delete(values, i));
+                }
+            }
+            return this;
+        }
+    }
+
+    // Узел из двух элементов с разными ключами, начиная с уровня shift
+    private static TrieNode pair(int hash1, Object key1, Object value1, int hash2, Object key2, Object value2,
+                                 int shift) {
+        if (shift >= Integer.SIZE) {
+            return new CollisionNode(hash1, new Object[]{key1, key2}, new Object[]{value1, value2});
+        }
+        int bit1 = bitpos(hash1, shift);
+        int bit2 = bitpos(hash2, shift);
+        if (bit1 == bit2) {
+            return new BitmapNode(0, bit1, new int[0], new Object[0], new Object[0],
+                    new TrieNode[]{pair(hash1, key1, value1, hash2, key2, value2, shift + BITS)});
+        }
+        boolean firstIsLower = Integer.compareUnsigned(bit1, bit2) < 0;
+        return firstIsLower
+                ? new BitmapNode(bit1 | bit2, 0, new int[]{hash1, hash2}, new Object[]{key1, key2},
+                new Object[]{value1, value2}, new TrieNode[0])
+                : new BitmapNode(bit1 | bit2, 0, new int[]{hash2, hash1}, new Object[]{key2, key1},
+                new Object[]{value2, value1}, new TrieNode[0]);
+    }
+
+    private static int[] insert(int[] array, int i, int element) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, i);
+        result[i] = element;
+        System.arraycopy(array, i, result, i + 1, array.length - i);
+        return result;
+    }
+
+    private static int[] delete(int[] array, int i) {
+        int[] result = new int[array.length - 1];
+        System.arraycopy(array, 0, result, 0, i);
+        System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+        return result;
+    }
+
+    private static <T> T[] insert(T[] array, int i, T element) {
+        T[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, i, result, i + 1, array.length - i);
+        result[i] = element;
+        return result;
+    }
+
+    private static <T> T[] delete(T[] array, int i) {
+        T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+        return result;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.hash_table;
+
+// Общая часть таблиц с примитивными ключами (IntObjectHashTable, LongObjectHashTable, LongLongHashTable):
+// открытая адресация с линейным пробированием по плоскому массиву ключей. Значение 0 обозначает пустую ячейку,
+// поэтому значение ключа 0 лежит в дополнительной ячейке массива значений с номером capacity.
+// При удалении элементы цепочки проб сдвигаются назад, так что "надгробия" не нужны.
+// Массивы ключей и значений хранит подкласс в своих примитивных типах: здесь ключи видны расширенными до long,
+// а значения переносятся через moveValue и clearValue.
+abstract class PrimitiveKeyHashTable {
+    static final int INITIAL_CAPACITY = 16;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+
+    // Вызывает allocateKeys и allocateValues, поэтому поля массивов в подклассе не должны иметь инициализатора
+    PrimitiveKeyHashTable(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / HashTable.LOAD_FACTOR) + 1;
+        if (needed >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(INITIAL_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    abstract void allocateKeys(int capacity);
+
+    // Массив значений на capacity + 1 ячеек: последняя - для ключа 0
+    abstract void allocateValues(int capacity);
+
+    abstract long keyAt(int index);
+
+    abstract void setKey(int index, long key);
+
+    abstract int mix(long key);
+
+    abstract void moveValue(int from, int to);
+
+    abstract void clearValue(int index);
+
+    abstract void clearKeys();
+
+    abstract void clearValues();
+
+    // Переносит ключи старого массива через insertNew после allocate, а значение ключа 0 - в ячейку capacity
+    abstract void rehash(int capacity);
+
+    final void allocate(int capacity) {
+        mask = capacity - 1;
+        allocateKeys(capacity);
+        allocateValues(capacity);
+    }
+
+    // Вставка ключа, которого заведомо нет в таблице, без проверки заполненности; возвращает ячейку значения
+    final int insertNew(long key) {
+        int index = mix(key) & mask;
+        while (keyAt(index) != 0) {
+            index = (index + 1) & mask;
+        }
+        setKey(index, key);
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getTableSize() {
+        return mask + 1;
+    }
+
+    // Ячейка значения ключа или -1, если ключа нет
+    final int indexOf(long key) {
+        if (key == 0) {
+            return hasZeroKey ? mask + 1 : -1;
+        }
+        int index = mix(key) & mask;
+        long k;
+        while ((k = keyAt(index)) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Ячейка значения ключа; если ключа нет, он добавляется. Таблица растёт до записи ключа,
+    // так что при заполненной таблице исключение выбрасывается без вставки.
+    // Массив значений может быть заменён: обращаться к нему нужно после вызова
+    final int insertionIndex(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return mask + 1;
+        }
+
+        int index = mix(key) & mask;
+        long k;
+        while ((k = keyAt(index)) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size + 1 >= HashTable.LOAD_FACTOR * (mask + 1)) {
+            if (mask + 1 == MAX_CAPACITY) {
+                throw new IllegalStateException("Hash table is full");
+            }
+            rehash(2 * (mask + 1));
+            index = insertNew(key);
+        } else {
+            setKey(index, key);
+        }
+        size++;
+        return index;
+    }
+
+    final boolean containsKeyValue(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    final void removeKey(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return;
+        }
+        size--;
+        if (index == mask + 1) {
+            hasZeroKey = false;
+            clearValue(index);
+        } else {
+            shiftKeys(index);
+        }
+    }
+
+    // Сдвиг назад: каждый следующий элемент цепочки, которому разрешено занять освободившуюся ячейку, переносится в неё
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            long k;
+            while (true) {
+                if ((k = keyAt(pos)) == 0) {
+                    setKey(last, 0);
+                    clearValue(last);
+                    return;
+                }
+                int slot = mix(k) & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            setKey(last, k);
+            moveValue(pos, last);
+        }
+    }
+
+    public void clear() {
+        clearKeys();
+        clearValues();
+        hasZeroKey = false;
+        size = 0;
+    }
+}
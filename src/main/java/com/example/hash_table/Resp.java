@@ -0,0 +1,126 @@
+package com.example.hash_table;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Разбор и запись подмножества протокола RESP (Redis serialization protocol), общие для KeyValueServer
+// и KeyValueLoadGenerator. Числа читаются и пишутся прямо в буферы, без промежуточных строк.
+final class Resp {
+    // Строка ещё не пришла целиком
+    static final long INCOMPLETE = Long.MIN_VALUE;
+    // Длина строки с числом, включая знак и \r\n
+    static final int MAX_NUMBER_LINE = 22;
+
+    private Resp() {
+    }
+
+    // Число до \r\n с текущей позиции; позиция сдвигается за \r\n. Если строка неполная, возвращает INCOMPLETE,
+    // и позиция остаётся в неопределённом месте - вызывающий возвращает её к началу сообщения
+    static long readNumber(ByteBuffer in) throws ProtocolException {
+        boolean negative = false;
+        long value = 0;
+        int digits = 0;
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\r') {
+                if (!in.hasRemaining()) {
+                    return INCOMPLETE;
+                }
+                if (in.get() != '\n' || digits == 0) {
+                    throw new ProtocolException("Malformed number line");
+                }
+                return negative ? -value : value;
+            }
+            if (b == '-' && digits == 0 && !negative) {
+                negative = true;
+            } else if (b >= '0' && b <= '9' && digits < 18) {
+                value = value * 10 + (b - '0');
+                digits++;
+            } else {
+                throw new ProtocolException("Malformed number line");
+            }
+        }
+        return INCOMPLETE;
+    }
+
+    // Пропускает строку до \r\n; false, если она ещё не пришла целиком
+    static boolean skipLine(ByteBuffer in) {
+        while (in.hasRemaining()) {
+            if (in.get() == '\r' && in.hasRemaining() && in.get(in.position()) == '\n') {
+                in.get();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void putNumber(ByteBuffer out, long value) {
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    static void putCrlf(ByteBuffer out) {
+        out.put((byte) '\r').put((byte) '\n');
+    }
+
+    // Заголовок с типом и числом: "*3\r\n", "$5\r\n", ":1\r\n"
+    static void putHeader(ByteBuffer out, char type, long value) {
+        out.put((byte) type);
+        putNumber(out, value);
+        putCrlf(out);
+    }
+
+    static void putBulk(ByteBuffer out, byte[] data) {
+        putHeader(out, '$', data.length);
+        out.put(data);
+        putCrlf(out);
+    }
+
+    // Команда - массив строк: *N\r\n, затем $длина\r\nбайты\r\n для каждого аргумента
+    static void putCommand(ByteBuffer out, byte[]... arguments) {
+        putHeader(out, '*', arguments.length);
+        for (byte[] argument : arguments) {
+            putBulk(out, argument);
+        }
+    }
+
+    static int commandLength(byte[]... arguments) {
+        int length = MAX_NUMBER_LINE;
+        for (byte[] argument : arguments) {
+            length += MAX_NUMBER_LINE + argument.length + 2;
+        }
+        return length;
+    }
+
+    static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Виртуальный поток на каждую задачу или null, если JVM их не поддерживает. Проект собирается
+    // под release 19, где виртуальные потоки - preview, поэтому фабрика Java 21 ищется через отражение.
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    // Поток на каждую задачу: виртуальные, если они есть, иначе пул обычных потоков
+    static ExecutorService newThreadPerTaskExecutor() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return executor != null ? executor : Executors.newCachedThreadPool();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.hash_table;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+// Внутреннее представление хеш-таблицы для конкретного способа разрешения коллизий
+abstract class Storage<K, V> {
+    final HashStrategy<? super K> strategy;
+    final double loadFactor;
+
+    // null, если статистика выключена
+    HashTableStatistics statistics;
+
+    Storage(HashStrategy<? super K> strategy, double loadFactor) {
+        this.strategy = strategy;
+        this.loadFactor = loadFactor;
+    }
+
+    abstract int capacity();
+
+    abstract int size();
+
+    int tombstones() {
+        return 0;
+    }
+
+    V get(K key) {
+        return get(key, strategy.hash(key));
+    }
+
+    V put(K key, V value) {
+        return put(key, strategy.hash(key), value);
+    }
+
+    boolean containsKey(K key) {
+        return containsKey(key, strategy.hash(key));
+    }
+
+    V remove(K key) {
+        return remove(key, strategy.hash(key));
+    }
+
+    void insertNew(K key, V value) {
+        insertNew(key, strategy.hash(key), value);
+    }
+
+    // Варианты с заранее вычисленным хешем ключа (пакетные операции, перенос элементов при перестройке)
+    abstract V get(K key, int hash);
+
+    abstract V getOrDefault(K key, int hash, V defaultValue);
+
+    // Операции изменения за один проход по цепочке или последовательности проб.
+    // put и putIfAbsent возвращают прежнее значение, compute - новое (null удаляет ключ).
+    // Функция не должна изменять таблицу
+    abstract V put(K key, int hash, V value);
+
+    abstract V putIfAbsent(K key, int hash, V value);
+
+    abstract V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
+    abstract boolean containsKey(K key, int hash);
+
+    // Вставка или замена, которая затрагивает только корзины [from, to) и не меняет size (параллельное построение):
+    // 1 - ключ добавлен, 0 - значение заменено, -1 - нужна корзина за пределами диапазона
+    abstract int putInRange(K key, int hash, V value, int from, int to);
+
+    abstract void addToSize(int delta);
+
+    // Удалённое значение или null; удаление ключа со значением null видно только по изменению size()
+    abstract V remove(K key, int hash);
+
+    abstract void clear();
+
+    // true, если таблицу пора перестроить (превышен коэффициент заполнения или слишком много "надгробий")
+    abstract boolean needsResize();
+
+    // Пустое хранилище подходящего размера для перестройки
+    abstract Storage<K, V> createResized();
+
+    // Вставка ключа, которого заведомо нет в таблице, без сравнения ключей и проверки заполнения
+    abstract void insertNew(K key, int hash, V value);
+
+    // Переносит все элементы корзины в target и освобождает корзину
+    abstract void transferBucket(int index, Storage<K, V> target);
+
+    abstract void forEachInBucket(int index, BiConsumer<? super K, ? super V> action);
+
+    abstract List<HashTable.Node<K, V>>[] toBucketArray();
+
+    Cursor<K, V> cursor() {
+        return cursor(0, capacity());
+    }
+
+    // Обход корзин с номерами из [from, to)
+    abstract Cursor<K, V> cursor(int from, int to);
+
+    // Число элементов в корзинах [from, to)
+    abstract int count(int from, int to);
+
+    // Ёмкость всегда степень двойки, поэтому индекс берётся маской вместо деления
+    int indexFor(K key) {
+        return indexFor(strategy.hash(key));
+    }
+
+    // Корзина, с которой начинается поиск ключа с хешем hash
+    int indexFor(int hash) {
+        return hash & (capacity() - 1);
+    }
+
+    // Курсор для последовательного обхода элементов без создания объектов на каждый элемент
+    interface Cursor<K, V> {
+        boolean advance();
+
+        K key();
+
+        V value();
+
+        // Сохранённый хеш текущего ключа
+        int hash();
+    }
+}
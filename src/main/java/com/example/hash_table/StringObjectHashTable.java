@@ -0,0 +1,284 @@
+package com.example.hash_table;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+// Хеш-таблица со строковыми ключами, которые хранятся не объектами String, а подряд в общем массиве
+// байтов (арене): по байту на символ, если все символы строки умещаются в Latin-1, иначе по два (UTF-16).
+// Ячейка открытой адресации хранит хеш ключа и ссылку на арену [смещение + 1, длина в символах, признак UTF-16],
+// так что на ключ не приходится ни одного объекта. Искомая строка сравнивается с байтами арены посимвольно,
+// только если совпал хеш; при расширении хеши не пересчитываются. Удаление сдвигает цепочку проб назад,
+// место удалённых ключей в арене возвращается при уплотнении.
+public class StringObjectHashTable<V> {
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int INITIAL_ARENA_SIZE = 1 << 10;
+    private static final int MAX_ARENA_SIZE = Integer.MAX_VALUE - 8;
+    // Уплотнять арену, только когда мусора больше, чем этот порог и больше живых данных
+    private static final int MIN_GARBAGE_TO_COMPACT = 1 << 16;
+    private static final long UTF16 = 1;
+
+    private int[] hashes;
+    private long[] refs;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    private byte[] arena = new byte[INITIAL_ARENA_SIZE];
+    private int arenaEnd;
+    private int garbage;
+
+    public StringObjectHashTable() {
+        this(0);
+    }
+
+    public StringObjectHashTable(int expectedSize) {
+        allocate(PrimitiveKeyHashTable.capacityFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        refs = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(String key) {
+        return Murmur3.fmix(key.hashCode());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getTableSize() {
+        return refs.length;
+    }
+
+    // Занятая часть арены, включая ещё не уплотнённые удалённые ключи
+    public int getArenaBytes() {
+        return arenaEnd;
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 32) - 1;
+    }
+
+    private static int length(long ref) {
+        return (int) ref >>> 1;
+    }
+
+    private static int byteLength(long ref) {
+        return (ref & UTF16) != 0 ? 2 * length(ref) : length(ref);
+    }
+
+    private boolean matches(long ref, String key) {
+        int length = length(ref);
+        if (length != key.length()) {
+            return false;
+        }
+        int p = offset(ref);
+        if ((ref & UTF16) == 0) {
+            for (int i = 0; i < length; i++, p++) {
+                if ((arena[p] & 0xFF) != key.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            for (int i = 0; i < length; i++, p += 2) {
+                if ((char) ((arena[p] & 0xFF) << 8 | arena[p + 1] & 0xFF) != key.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private String keyAt(long ref) {
+        int offset = offset(ref);
+        int length = length(ref);
+        if ((ref & UTF16) == 0) {
+            return new String(arena, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ((arena[offset + 2 * i] & 0xFF) << 8 | arena[offset + 2 * i + 1] & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    // Дописывает ключ в арену и возвращает ссылку на него
+    private long append(String key) {
+        boolean latin1 = true;
+        for (int i = 0; i < key.length() && latin1; i++) {
+            latin1 = key.charAt(i) < 0x100;
+        }
+        int bytes = latin1 ? key.length() : 2 * key.length();
+        ensureArena(bytes);
+        int offset = arenaEnd;
+        if (latin1) {
+            for (int i = 0; i < key.length(); i++) {
+                arena[offset + i] = (byte) key.charAt(i);
+            }
+        } else {
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                arena[offset + 2 * i] = (byte) (c >>> 8);
+                arena[offset + 2 * i + 1] = (byte) c;
+            }
+        }
+        arenaEnd += bytes;
+        return (long) (offset + 1) << 32 | (long) key.length() << 1 | (latin1 ? 0 : UTF16);
+    }
+
+    private void ensureArena(int bytes) {
+        if ((long) arenaEnd + bytes <= arena.length) {
+            return;
+        }
+        if (garbage > MIN_GARBAGE_TO_COMPACT && garbage > arenaEnd - garbage
+                && (long) arenaEnd - garbage + bytes <= arena.length) {
+            compact();
+            return;
+        }
+        long needed = (long) arenaEnd + bytes;
+        if (needed > MAX_ARENA_SIZE) {
+            throw new IllegalStateException("Key arena is full");
+        }
+        arena = Arrays.copyOf(arena, (int) Math.min(MAX_ARENA_SIZE, Math.max(needed, 2L * arena.length)));
+    }
+
+    // Живые ключи переписываются в начало новой арены; ячейки таблицы остаются на местах
+    private void compact() {
+        byte[] compacted = new byte[arena.length];
+        int end = 0;
+        for (int i = 0; i < refs.length; i++) {
+            long ref = refs[i];
+            if (ref != 0) {
+                int bytes = byteLength(ref);
+                System.arraycopy(arena, offset(ref), compacted, end, bytes);
+                refs[i] = (long) (end + 1) << 32 | (ref & 0xFFFFFFFFL);
+                end += bytes;
+            }
+        }
+        arena = compacted;
+        arenaEnd = end;
+        garbage = 0;
+    }
+
+    private int find(String key, int hash) {
+        int index = hash & mask;
+        long ref;
+        while ((ref = refs[index]) != 0) {
+            if (hashes[index] == hash && matches(ref, key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int index = find(key, hash(key));
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public boolean containsKey(String key) {
+        return find(key, hash(key)) >= 0;
+    }
+
+    public void put(String key, V value) {
+        Objects.requireNonNull(key);
+        int hash = hash(key);
+        int index = hash & mask;
+        long ref;
+        while ((ref = refs[index]) != 0) {
+            if (hashes[index] == hash && matches(ref, key)) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        refs[index] = append(key);
+        hashes[index] = hash;
+        values[index] = value;
+        if (++size >= HashTable.LOAD_FACTOR * refs.length) {
+            resize();
+        }
+    }
+
+    public void remove(String key) {
+        int index = find(key, hash(key));
+        if (index >= 0) {
+            garbage += byteLength(refs[index]);
+            size--;
+            shiftKeys(index);
+        }
+    }
+
+    // Сдвиг назад, как в PrimitiveKeyHashTable; домашняя ячейка берётся из сохранённого хеша
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+            while (true) {
+                if (refs[pos] == 0) {
+                    refs[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int slot = hashes[pos] & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            refs[last] = refs[pos];
+            hashes[last] = hashes[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        for (int i = 0; i < refs.length; i++) {
+            if (refs[i] != 0) {
+                action.accept(keyAt(refs[i]), (V) values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(refs, 0);
+        Arrays.fill(values, null);
+        size = 0;
+        arenaEnd = 0;
+        garbage = 0;
+    }
+
+    private void resize() {
+        if (refs.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full");
+        }
+        int[] oldHashes = hashes;
+        long[] oldRefs = refs;
+        Object[] oldValues = values;
+        allocate(2 * oldRefs.length);
+        for (int i = 0; i < oldRefs.length; i++) {
+            if (oldRefs[i] != 0) {
+                int index = oldHashes[i] & mask;
+                while (refs[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                refs[index] = oldRefs[i];
+                hashes[index] = oldHashes[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hash_table;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+// Переносимое сравнение группы: 16 управляющих байтов читаются двумя long и сравниваются
+// сразу по 8 байт (SWAR, как в не-SIMD ветке abseil)
+final class SwarGroupMatcher implements GroupMatcher {
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // Старшие биты восьми байтов собираются умножением в 8-битную маску
+    private static int compress(long msbs) {
+        return (int) ((msbs * 0x02040810204081L) >>> 56);
+    }
+
+    // Старший бит установлен у нулевых байтов (и, возможно, у байтов выше нулевого из-за заёма)
+    private static long zeroBytes(long x) {
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    private static long empty(long word) {
+        return word & ~(word << 6) & MSBS;
+    }
+
+    @Override
+    public int matchTag(byte[] control, int offset, int tag) {
+        long pattern = LSBS * tag;
+        long low = (long) LONGS.get(control, offset);
+        long high = (long) LONGS.get(control, offset + 8);
+        return compress(zeroBytes(low ^ pattern)) | compress(zeroBytes(high ^ pattern)) << 8;
+    }
+
+    // EMPTY (0x80) отличается от DELETED (0xFE) нулевым битом 1
+    @Override
+    public int matchEmpty(byte[] control, int offset) {
+        long low = (long) LONGS.get(control, offset);
+        long high = (long) LONGS.get(control, offset + 8);
+        return compress(empty(low)) | compress(empty(high)) << 8;
+    }
+
+    @Override
+    public int matchEmptyOrDeleted(byte[] control, int offset) {
+        long low = (long) LONGS.get(control, offset);
+        long high = (long) LONGS.get(control, offset + 8);
+        return compress(low & MSBS) | compress(high & MSBS) << 8;
+    }
+}
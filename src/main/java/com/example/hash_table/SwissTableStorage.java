@@ -0,0 +1,401 @@
+package com.example.hash_table;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+// Открытая адресация в духе SwissTable: для каждой ячейки хранится управляющий байт - пустая, удалённая
+// или 7 бит (перемешанного) хеша занятого ключа. Ячейки просматриваются группами по GROUP_WIDTH: управляющие байты
+// группы сравниваются с меткой ключа сразу для всей группы (GroupMatcher: вектором jdk.incubator.vector
+// или SWAR по двум long), так что equals вызывается только для ячеек с совпавшей меткой и полным хешем. Полные хеши хранятся рядом с ключами,
+// поэтому при перестройке не вычисляются заново. Группы перебираются квадратичным пробированием.
+class SwissTableStorage<K, V> extends Storage<K, V> {
+    static final int GROUP_WIDTH = 16;
+    private static final int GROUP_SHIFT = 4;
+    static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+    private static final double TOMBSTONE_FACTOR = 0.25;
+
+    private static final GroupMatcher MATCHER = GroupMatcher.load();
+
+    private final byte[] control;
+    private final Object[] keys;
+    private final Object[] values;
+    private final int[] hashes;
+    private final int groupMask;
+    private int size;
+    private int tombstones;
+
+    SwissTableStorage(int capacity, HashStrategy<? super K> strategy, double loadFactor) {
+        super(strategy, loadFactor);
+        capacity = Math.max(capacity, 2 * GROUP_WIDTH);
+        control = new byte[capacity];
+        Arrays.fill(control, EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        groupMask = (capacity >>> GROUP_SHIFT) - 1;
+    }
+
+    @Override
+    int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    int tombstones() {
+        return tombstones;
+    }
+
+    // Метка и номер группы берутся из разных битов хеша, поэтому хеш дополнительно перемешивается:
+    // иначе последовательные ключи (Integer, Long) с одинаковыми старшими битами попадали бы в одну группу
+    private static int tag(int hash) {
+        return Murmur3.fmix(hash) & 0x7F;
+    }
+
+    private int firstGroup(int hash) {
+        return (Murmur3.fmix(hash) >>> 7) & groupMask;
+    }
+
+    @Override
+    int indexFor(int hash) {
+        return firstGroup(hash) << GROUP_SHIFT;
+    }
+
+    // Маски GroupMatcher: бит i - ячейка i группы
+    private static int slotInGroup(int match) {
+        return Integer.numberOfTrailingZeros(match);
+    }
+
+    // Номер ячейки с ключом или -1
+    @SuppressWarnings("unchecked")
+    private int find(K key, int hash) {
+        int tag = tag(hash);
+        int group = firstGroup(hash);
+        for (int step = 1; step <= groupMask + 1; step++) {
+            int offset = group << GROUP_SHIFT;
+            for (int match = MATCHER.matchTag(control, offset, tag); match != 0; match &= match - 1) {
+                int index = offset + slotInGroup(match);
+                if (control[index] == tag && hashes[index] == hash && strategy.equals((K) keys[index], key)) {
+                    if (statistics != null) {
+                        statistics.recordProbe(step);
+                    }
+                    return index;
+                }
+            }
+            if (MATCHER.matchEmpty(control, offset) != 0) {
+                if (statistics != null) {
+                    statistics.recordProbe(step);
+                }
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+        return -1;
+    }
+
+    // Номер ячейки с ключом или -(ячейка для вставки) - 1: первая пустая или удалённая ячейка на пути пробирования
+    @SuppressWarnings("unchecked")
+    private int probe(K key, int hash) {
+        int tag = tag(hash);
+        int group = firstGroup(hash);
+        int slot = -1;
+        for (int step = 1; step <= groupMask + 1; step++) {
+            int offset = group << GROUP_SHIFT;
+            for (int match = MATCHER.matchTag(control, offset, tag); match != 0; match &= match - 1) {
+                int index = offset + slotInGroup(match);
+                if (control[index] == tag && hashes[index] == hash && strategy.equals((K) keys[index], key)) {
+                    if (statistics != null) {
+                        statistics.recordProbe(step);
+                    }
+                    return index;
+                }
+            }
+            if (slot < 0) {
+                int free = MATCHER.matchEmptyOrDeleted(control, offset);
+                if (free != 0) {
+                    slot = offset + slotInGroup(free);
+                    if (statistics != null) {
+                        statistics.recordOccupancy(step);
+                    }
+                }
+            }
+            if (MATCHER.matchEmpty(control, offset) != 0) {
+                if (statistics != null) {
+                    statistics.recordProbe(step);
+                }
+                break;
+            }
+            group = (group + step) & groupMask;
+        }
+        return -slot - 1;
+    }
+
+    // Первая пустая или удалённая ячейка на пути пробирования
+    private int findSlot(int hash) {
+        int group = firstGroup(hash);
+        for (int step = 1; ; step++) {
+            int match = MATCHER.matchEmptyOrDeleted(control, group << GROUP_SHIFT);
+            if (match != 0) {
+                if (statistics != null) {
+                    statistics.recordOccupancy(step);
+                }
+                return (group << GROUP_SHIFT) + slotInGroup(match);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    private void fill(int index, int hash, K key, V value) {
+        if (control[index] == DELETED) {
+            tombstones--;
+        }
+        control[index] = (byte) tag(hash);
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V get(K key, int hash) {
+        int index = find(key, hash);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V getOrDefault(K key, int hash, V defaultValue) {
+        int index = find(key, hash);
+        return index < 0 ? defaultValue : (V) values[index];
+    }
+
+    @Override
+    boolean containsKey(K key, int hash) {
+        return find(key, hash) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V put(K key, int hash, V value) {
+        int index = probe(key, hash);
+        if (index < 0) {
+            fill(-index - 1, hash, key, value);
+            size++;
+            return null;
+        }
+        V old = (V) values[index];
+        values[index] = value;
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V putIfAbsent(K key, int hash, V value) {
+        int index = probe(key, hash);
+        if (index < 0) {
+            fill(-index - 1, hash, key, value);
+            size++;
+            return null;
+        }
+        return (V) values[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int index = probe(key, hash);
+        V value = remappingFunction.apply(key, index < 0 ? null : (V) values[index]);
+        if (index < 0) {
+            if (value != null) {
+                fill(-index - 1, hash, key, value);
+                size++;
+            }
+        } else if (value != null) {
+            values[index] = value;
+        } else {
+            removeAt(index);
+        }
+        return value;
+    }
+
+    // Годятся только группы из [from, to); удалённые ячейки не переиспользуются,
+    // так как счётчик "надгробий" общий для параллельных задач
+    @Override
+    @SuppressWarnings("unchecked")
+    int putInRange(K key, int hash, V value, int from, int to) {
+        int tag = tag(hash);
+        int group = firstGroup(hash);
+        for (int step = 1; step <= groupMask + 1; step++) {
+            int start = group << GROUP_SHIFT;
+            if (start < from || start >= to) {
+                return -1;
+            }
+            for (int match = MATCHER.matchTag(control, start, tag); match != 0; match &= match - 1) {
+                int index = start + slotInGroup(match);
+                if (control[index] == tag && hashes[index] == hash && strategy.equals((K) keys[index], key)) {
+                    values[index] = value;
+                    return 0;
+                }
+            }
+            int empty = MATCHER.matchEmpty(control, start);
+            if (empty != 0) {
+                int index = start + slotInGroup(empty);
+                control[index] = (byte) tag;
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                return 1;
+            }
+            group = (group + step) & groupMask;
+        }
+        return -1;
+    }
+
+    @Override
+    void addToSize(int delta) {
+        size += delta;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V remove(K key, int hash) {
+        int index = find(key, hash);
+        if (index < 0) {
+            return null;
+        }
+        V old = (V) values[index];
+        removeAt(index);
+        return old;
+    }
+
+    private void removeAt(int index) {
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        markFree(index);
+    }
+
+    // Если в группе есть пустая ячейка, поиск в любом случае остановится на этой группе,
+    // и освобождённую ячейку можно сделать пустой; иначе нужна отметка об удалении
+    private void markFree(int index) {
+        if (MATCHER.matchEmpty(control, index & -GROUP_WIDTH) != 0) {
+            control[index] = EMPTY;
+        } else {
+            control[index] = DELETED;
+            tombstones++;
+        }
+    }
+
+    @Override
+    void clear() {
+        Arrays.fill(control, EMPTY);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+        tombstones = 0;
+    }
+
+    @Override
+    boolean needsResize() {
+        return size + tombstones >= loadFactor * keys.length
+                || tombstones > TOMBSTONE_FACTOR * keys.length;
+    }
+
+    @Override
+    Storage<K, V> createResized() {
+        int capacity = size >= loadFactor * keys.length / 2 ? 2 * keys.length : keys.length;
+        return new SwissTableStorage<>(capacity, strategy, loadFactor);
+    }
+
+    @Override
+    void insertNew(K key, int hash, V value) {
+        fill(findSlot(hash), hash, key, value);
+        size++;
+    }
+
+    // Перенесённая ячейка помечается удалённой, чтобы поиск в старой таблице продолжал работать
+    @Override
+    @SuppressWarnings("unchecked")
+    void transferBucket(int index, Storage<K, V> target) {
+        if (control[index] >= 0) {
+            target.insertNew((K) keys[index], hashes[index], (V) values[index]);
+            control[index] = DELETED;
+            keys[index] = null;
+            values[index] = null;
+            tombstones++;
+            size--;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void forEachInBucket(int index, BiConsumer<? super K, ? super V> action) {
+        if (control[index] >= 0) {
+            action.accept((K) keys[index], (V) values[index]);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    List<HashTable.Node<K, V>>[] toBucketArray() {
+        List<HashTable.Node<K, V>>[] buckets = new List[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (control[i] >= 0) {
+                buckets[i] = List.of(new HashTable.Node<>((K) keys[i], (V) values[i], hashes[i]));
+            }
+        }
+        return buckets;
+    }
+
+    @Override
+    int count(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (control[i] >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    Cursor<K, V> cursor(int from, int to) {
+        return new Cursor<>() {
+            private int index = from - 1;
+
+            @Override
+            public boolean advance() {
+                while (++index < to) {
+                    if (control[index] >= 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public K key() {
+                return (K) keys[index];
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V value() {
+                return (V) values[index];
+            }
+
+            @Override
+            public int hash() {
+                return hashes[index];
+            }
+        };
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.hash_table;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Корзина метода цепочек в виде сбалансированного (AVL) дерева. Узлы упорядочены по полному хешу,
+// затем по compareTo для Comparable-ключей одного класса, затем по имени класса и identityHashCode.
+// Поиск, вставка и удаление выполняются за O(log n) даже если все ключи попали в одну корзину.
+class TreeBin<K, V> extends AbstractList<HashTable.Node<K, V>> {
+    private final HashStrategy<? super K> strategy;
+    private Entry<K, V> root;
+    private int size;
+
+    TreeBin(HashStrategy<? super K> strategy) {
+        this.strategy = strategy;
+    }
+
+    private static final class Entry<K, V> {
+        int hash;
+        HashTable.Node<K, V> node;
+        Entry<K, V> left;
+        Entry<K, V> right;
+        int height = 1;
+
+        Entry(int hash, HashTable.Node<K, V> node) {
+            this.hash = hash;
+            this.node = node;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    HashTable.Node<K, V> find(K key, int hash) {
+        Entry<K, V> entry = find(root, key, hash);
+        return entry == null ? null : entry.node;
+    }
+
+    private Entry<K, V> find(Entry<K, V> entry, K key, int hash) {
+        while (entry != null) {
+            if (hash < entry.hash) {
+                entry = entry.left;
+            } else if (hash > entry.hash) {
+                entry = entry.right;
+            } else if (strategy.equals(entry.node.key, key)) {
+                return entry;
+            } else {
+                int c = compareComparables(key, entry.node.key);
+                if (c < 0) {
+                    entry = entry.left;
+                } else if (c > 0) {
+                    entry = entry.right;
+                } else {
+                    // Порядок не определяется сравнением ключей - ищем в обоих поддеревьях
+                    Entry<K, V> found = find(entry.right, key, hash);
+                    if (found != null) {
+                        return found;
+                    }
+                    entry = entry.left;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Вставка ключа, которого нет в дереве
+    void insert(HashTable.Node<K, V> node, int hash) {
+        root = insert(root, new Entry<>(hash, node));
+        size++;
+    }
+
+    private Entry<K, V> insert(Entry<K, V> entry, Entry<K, V> added) {
+        if (entry == null) {
+            return added;
+        }
+        if (compare(added, entry) < 0) {
+            entry.left = insert(entry.left, added);
+        } else {
+            entry.right = insert(entry.right, added);
+        }
+        return balance(entry);
+    }
+
+    // Удаляет узел с ключом; возвращает удалённый узел или null
+    HashTable.Node<K, V> remove(K key, int hash) {
+        HashTable.Node<K, V> node = find(key, hash);
+        if (node != null) {
+            removeNode(node, hash);
+        }
+        return node;
+    }
+
+    // Удаляет узел, уже найденный find: спуск по порядку дерева к его записи, без сравнения ключей через equals
+    void removeNode(HashTable.Node<K, V> node, int hash) {
+        root = remove(root, new Entry<>(hash, node));
+        size--;
+    }
+
+    private Entry<K, V> remove(Entry<K, V> entry, Entry<K, V> target) {
+        if (entry == null) {
+            return null;
+        }
+        if (entry.node == target.node) {
+            if (entry.left == null) {
+                return entry.right;
+            }
+            if (entry.right == null) {
+                return entry.left;
+            }
+            Entry<K, V> successor = entry.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            entry.hash = successor.hash;
+            entry.node = successor.node;
+            entry.right = removeMin(entry.right);
+            return balance(entry);
+        }
+        int c = compare(target, entry);
+        if (c < 0) {
+            entry.left = remove(entry.left, target);
+        } else if (c > 0) {
+            entry.right = remove(entry.right, target);
+        } else {
+            Entry<K, V> left = entry.left;
+            entry.left = remove(left, target);
+            if (entry.left == left) {
+                entry.right = remove(entry.right, target);
+            }
+        }
+        return balance(entry);
+    }
+
+    private Entry<K, V> removeMin(Entry<K, V> entry) {
+        if (entry.left == null) {
+            return entry.right;
+        }
+        entry.left = removeMin(entry.left);
+        return balance(entry);
+    }
+
+    private int compare(Entry<K, V> a, Entry<K, V> b) {
+        if (a.hash != b.hash) {
+            return a.hash < b.hash ? -1 : 1;
+        }
+        int c = compareComparables(a.node.key, b.node.key);
+        if (c != 0) {
+            return c;
+        }
+        c = a.node.key.getClass().getName().compareTo(b.node.key.getClass().getName());
+        if (c != 0) {
+            return c;
+        }
+        return Integer.compare(System.identityHashCode(a.node.key), System.identityHashCode(b.node.key));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparables(Object a, Object b) {
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return 0;
+    }
+
+    private static int height(Entry<?, ?> entry) {
+        return entry == null ? 0 : entry.height;
+    }
+
+    private static <K, V> Entry<K, V> balance(Entry<K, V> entry) {
+        int difference = height(entry.left) - height(entry.right);
+        if (difference > 1) {
+            if (height(entry.left.left) < height(entry.left.right)) {
+                entry.left = rotateLeft(entry.left);
+            }
+            return rotateRight(entry);
+        }
+        if (difference < -1) {
+            if (height(entry.right.right) < height(entry.right.left)) {
+                entry.right = rotateRight(entry.right);
+            }
+            return rotateLeft(entry);
+        }
+        entry.height = Math.max(height(entry.left), height(entry.right)) + 1;
+        return entry;
+    }
+
+    private static <K, V> Entry<K, V> rotateRight(Entry<K, V> entry) {
+        Entry<K, V> left = entry.left;
+        entry.left = left.right;
+        left.right = entry;
+        entry.height = Math.max(height(entry.left), height(entry.right)) + 1;
+        left.height = Math.max(height(left.left), height(left.right)) + 1;
+        return left;
+    }
+
+    private static <K, V> Entry<K, V> rotateLeft(Entry<K, V> entry) {
+        Entry<K, V> right = entry.right;
+        entry.right = right.left;
+        right.left = entry;
+        entry.height = Math.max(height(entry.left), height(entry.right)) + 1;
+        right.height = Math.max(height(right.left), height(right.right)) + 1;
+        return right;
+    }
+
+    @Override
+    public HashTable.Node<K, V> get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        Iterator<HashTable.Node<K, V>> iterator = iterator();
+        for (int i = 0; i < index; i++) {
+            iterator.next();
+        }
+        return iterator.next();
+    }
+
+    // Обход в порядке возрастания хешей
+    @Override
+    public Iterator<HashTable.Node<K, V>> iterator() {
+        return new Iterator<>() {
+            private final Deque<Entry<K, V>> stack = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Entry<K, V> entry) {
+                for (; entry != null; entry = entry.left) {
+                    stack.push(entry);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public HashTable.Node<K, V> next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Entry<K, V> entry = stack.pop();
+                pushLeft(entry.right);
+                return entry.node;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hash_table;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Сравнение группы одной 128-битной векторной инструкцией. Загружается только через GroupMatcher.load(),
+// когда модуль jdk.incubator.vector добавлен при запуске (в module-info он requires static)
+final class VectorGroupMatcher implements GroupMatcher {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+
+    @Override
+    public int matchTag(byte[] control, int offset, int tag) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).eq((byte) tag).toLong();
+    }
+
+    @Override
+    public int matchEmpty(byte[] control, int offset) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).eq(SwissTableStorage.EMPTY).toLong();
+    }
+
+    // Пустая и удалённая ячейки - единственные отрицательные управляющие байты
+    @Override
+    public int matchEmptyOrDeleted(byte[] control, int offset) {
+        return (int) ByteVector.fromArray(SPECIES, control, offset).lt((byte) 0).toLong();
+    }
+}
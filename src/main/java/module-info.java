@@ -1,6 +1,8 @@
 module com.example.hash_table {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires static jdk.incubator.vector;
 
 
     opens com.example.hash_table to javafx.fxml;